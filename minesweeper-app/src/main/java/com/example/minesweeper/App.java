@@ -0,0 +1,1024 @@
+package com.example.minesweeper;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.FXML;
+import javafx.scene.Parent;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+
+import com.example.minesweeper.generator.BoardPool;
+import com.example.minesweeper.generator.BoardSpec;
+import com.example.minesweeper.metrics.GameMetrics;
+import com.example.minesweeper.replay.ReplayRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The main application class for the Minesweeper game.
+ * Manages UI transitions between start screen, game screen, and leaderboard,
+ * as well as game state, timer, and score management.
+ */
+public class App extends Application {
+
+    private static final Logger LOGGER = System.getLogger(App.class.getName());
+
+    // --- Constants for Game Difficulty and UI ---
+    private static final int GRID_SIZE_EASY = 10;
+    private static final int MINES_EASY = 10;
+    private static final String DIFFICULTY_EASY = "Easy";
+
+    private static final int GRID_SIZE_MEDIUM = 12;
+    private static final int MINES_MEDIUM = 20;
+    private static final String DIFFICULTY_MEDIUM = "Medium";
+
+    private static final int GRID_SIZE_HARD = 14;
+    private static final int MINES_HARD = 25;
+    private static final String DIFFICULTY_HARD = "Hard";
+
+    private static final String DIFFICULTY_CUSTOM = "Custom"; // Boards started from an ID that match no preset
+
+    private static final int CELL_SIZE = 40; // Pixel size for each game cell button
+    private static final int CANVAS_RENDER_THRESHOLD = 32; // Boards larger than this are drawn on a Canvas
+    private static final String DEFAULT_PLAYER_NAME = "Mikhail Savushkin"; // Default name if none entered
+    private static final String FONT_NAME_BENZIN_BOLD = "Benzin-Bold";
+    private static final Path AUTOSAVE_PATH = Path.of("minesweeper_autosave.snapshot");
+    private static final double AUTOSAVE_INTERVAL_SECONDS = 5;
+
+    // --- Game State Variables ---
+    private Cell[][] grid; // Represents the game board cells
+    private Button[][] cellButtons; // The JavaFX Button for each cell, when the board is drawn with Buttons
+    private int currentRows;
+    private int currentCols;
+    private int currentMines;
+    private String currentDifficultyName;
+    private String currentPlayerName = DEFAULT_PLAYER_NAME;
+    private BoardId currentBoardId; // Set when the current game was started from a board ID
+    private boolean noGuessMode; // True to start new games on boards that can be solved without guessing
+
+    private MinesweeperGame gameLogic; // Core game logic (mine placement, opening cells)
+    private ReplayRecorder replayRecorder; // Records the clicks of the current game for its leaderboard record
+    private GridPane gameGridPane;
+    private CanvasBoardRenderer canvasRenderer; // Used instead of gameGridPane for large boards
+    private BorderPane gameRoot;
+
+    // --- UI Elements for Game Screen ---
+    private Label minesCounterLabel;
+    private Label timerLabel;
+    private Button newGameButton;
+
+    // --- Metrics ---
+    private long renderPendingSince; // Start of the last click until a pulse has laid out its result; 0 if none
+    private int renderPendingCells;
+
+    // --- Timer Variables ---
+    private GameTimer gameTimer; // Wakes up once per displayed second, not on every frame
+
+    // --- Autosave ---
+    private ExecutorService autosaver; // Writes snapshots of the current game off the FX thread
+    private Timeline autosaveTimeline;
+    private boolean autosaveDirty; // True if the current game changed since it was last saved
+
+    // --- Stage Management ---
+    private Stage primaryStage; // The main application window
+
+    // --- Start Screen Difficulty Selection ---
+    private int selectedDifficultyGridSize = GRID_SIZE_EASY;
+    private int selectedDifficultyMines = MINES_EASY;
+    private String selectedDifficultyName = DIFFICULTY_EASY; // Name of the initially selected difficulty
+
+    // --- Data Management ---
+    private DataManager dataManager;
+    private BoardPool boardPool; // Ready no-guess boards, generated in the background
+    private ExecutorService minePreparer; // Places the mines of a new game while the player picks a first cell
+
+    // --- FXML Injected UI Elements for StartScreen.fxml ---
+    @FXML private TextField nameField;
+    @FXML private TextField boardIdField;
+    @FXML private CheckBox noGuessCheckBox;
+    @FXML private Button easyButton;
+    @FXML private Button mediumButton;
+    @FXML private Button hardButton;
+    @FXML private Button startGameButton;
+    @FXML private Button leaderboardButton;
+    @FXML private Button exitButton;
+
+    /**
+     * The entry point of the JavaFX application.
+     * Initializes the primary stage and shows the start screen.
+     * @param stage The primary stage for this application.
+     */
+    @Override
+    public void start(Stage stage) {
+        primaryStage = stage;
+        primaryStage.setTitle("Minesweeper");
+
+        dataManager = DataManager.getInstance(); // Starts loading the records in the background
+
+        // Start generating no-guess boards for the presets right away, so they are ready by the first click.
+        boardPool = new BoardPool();
+        boardPool.prefill(new BoardSpec(GRID_SIZE_EASY, GRID_SIZE_EASY, MINES_EASY));
+        boardPool.prefill(new BoardSpec(GRID_SIZE_MEDIUM, GRID_SIZE_MEDIUM, MINES_MEDIUM));
+        boardPool.prefill(new BoardSpec(GRID_SIZE_HARD, GRID_SIZE_HARD, MINES_HARD));
+        minePreparer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mine-preparer");
+            thread.setDaemon(true); // Never keeps the application alive
+            return thread;
+        });
+
+        // Snapshot the game in progress every few seconds; only the copy is made on the FX thread.
+        autosaver = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true); // stop() waits for the last save
+            return thread;
+        });
+        autosaveTimeline = new Timeline(new KeyFrame(Duration.seconds(AUTOSAVE_INTERVAL_SECONDS), e -> autosave()));
+        autosaveTimeline.setCycleCount(Timeline.INDEFINITE);
+        autosaveTimeline.play();
+
+        // The label is refreshed from the timer's own reading, so a tick queued before a restart shows the new game.
+        gameTimer = new GameTimer(seconds -> Platform.runLater(this::showElapsedTime));
+
+        showStartScreen();
+        offerToResume();
+    }
+
+    /**
+     * Reads the game left unfinished by the last run in the background and, if there is one, asks whether to resume it.
+     */
+    private void offerToResume() {
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return GameSnapshot.readFrom(AUTOSAVE_PATH);
+            } catch (NoSuchFileException e) {
+                return null; // The last game was finished
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, autosaver).whenCompleteAsync((snapshot, error) -> {
+            if (error != null) {
+                LOGGER.log(Level.WARNING, "Could not read the saved game: " + error.getMessage());
+                return;
+            }
+            if (snapshot == null || snapshot.isGameOver()) {
+                return;
+            }
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION, "Resume the unfinished " + snapshot.getRows() + "x"
+                    + snapshot.getCols() + " game from your last session?", ButtonType.YES, ButtonType.NO);
+            alert.initOwner(primaryStage);
+            alert.setHeaderText(null);
+            Optional<ButtonType> answer = alert.showAndWait();
+            if (answer.isPresent() && answer.get() == ButtonType.YES) {
+                resumeGame(snapshot);
+            } else {
+                deleteAutosave();
+            }
+        }, Platform::runLater);
+    }
+
+    private void resumeGame(GameSnapshot snapshot) {
+        MinesweeperGame game;
+        try {
+            game = MinesweeperGame.restore(snapshot);
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not restore the saved game: " + e.getMessage());
+            deleteAutosave();
+            return;
+        }
+        if (snapshot.getPlayerName() != null) {
+            currentPlayerName = snapshot.getPlayerName();
+        }
+        String difficultyName = snapshot.getDifficulty() != null ? snapshot.getDifficulty() : DIFFICULTY_CUSTOM;
+        if (snapshot.getRows() == snapshot.getCols()) {
+            // "Play Again" starts a new game of the same kind.
+            selectedDifficultyGridSize = snapshot.getRows();
+            selectedDifficultyMines = snapshot.getTotalMines();
+            selectedDifficultyName = difficultyName;
+        }
+        currentBoardId = null;
+        showGameScreen(() -> showBoard(game, difficultyName, snapshot.getElapsedNanos()));
+    }
+
+    /**
+     * Takes a snapshot of the game in progress, if it changed since the last one, and writes it in the background.
+     */
+    private void autosave() {
+        if (!autosaveDirty || gameLogic == null || gameLogic.isGameOver()) {
+            return;
+        }
+        autosaveDirty = false;
+        GameSnapshot snapshot = gameLogic.snapshot(gameTimer.getElapsedNanos())
+                .withPlayer(currentPlayerName, currentDifficultyName);
+        autosaver.execute(() -> {
+            try {
+                snapshot.writeTo(AUTOSAVE_PATH);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not save the game: " + e.getMessage());
+            }
+        });
+    }
+
+    private void deleteAutosave() {
+        autosaveDirty = false;
+        autosaver.execute(() -> {
+            try {
+                Files.deleteIfExists(AUTOSAVE_PATH);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete the saved game: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Called when the application exits. Stops background board generation.
+     */
+    @Override
+    public void stop() {
+        if (autosaver != null) {
+            autosaveTimeline.stop();
+            autosave(); // The game in progress can be resumed on the next start
+            autosaver.shutdown();
+            try {
+                autosaver.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (gameTimer != null) {
+            gameTimer.close();
+        }
+        if (boardPool != null) {
+            boardPool.close();
+        }
+        if (minePreparer != null) {
+            minePreparer.shutdownNow();
+        }
+        if (dataManager != null) {
+            dataManager.close(); // Write queued records and let a running snapshot compaction finish
+        }
+        if (GameMetrics.ENABLED) {
+            LOGGER.log(Level.INFO, "Metrics:" + System.lineSeparator() + GameMetrics.report());
+        }
+    }
+
+    private void showStartScreen() {
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/StartScreen.fxml"));
+            loader.setController(this);
+
+            Parent root = loader.load();
+
+            Scene startScene = new Scene(root);
+            // Ensure CSS is loaded for the start screen.
+            startScene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+
+            primaryStage.setScene(startScene);
+            primaryStage.setTitle("Minesweeper");
+            primaryStage.setResizable(false); // Start screen is not resizable
+            primaryStage.show();
+
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Error loading StartScreen.fxml", e);
+        }
+    }
+
+    /**
+     * Initializes the controller after its root element has been completely processed.
+     * This method is automatically called by FXMLLoader. It's an ideal place for initial UI setup.
+     */
+    @FXML
+    public void initialize() {
+        // Set initial player name in the text field.
+        if (currentPlayerName != null && !currentPlayerName.isEmpty()) {
+            nameField.setText(currentPlayerName);
+        } else {
+            nameField.setText(DEFAULT_PLAYER_NAME);
+        }
+        if (noGuessCheckBox != null) noGuessCheckBox.setSelected(noGuessMode);
+
+        // Apply CSS classes to buttons for styling.
+        // Important: Ensure these buttons are correctly injected by FXML.
+        if (easyButton != null) easyButton.getStyleClass().add("easy-button");
+        if (mediumButton != null) mediumButton.getStyleClass().add("medium-button");
+        if (hardButton != null) hardButton.getStyleClass().add("hard-button");
+        if (startGameButton != null) startGameButton.getStyleClass().add("new_game_button");
+        if (leaderboardButton != null) leaderboardButton.getStyleClass().add("leaderboardButton");
+        if (exitButton != null) exitButton.getStyleClass().add("ExitButton");
+
+        // Highlight the initially selected difficulty button.
+        highlightSelectedDifficultyButton(getButtonForDifficulty(selectedDifficultyName));
+    }
+
+    @FXML
+    private void handleEasyClick() {
+        selectedDifficultyGridSize = GRID_SIZE_EASY;
+        selectedDifficultyMines = MINES_EASY;
+        selectedDifficultyName = DIFFICULTY_EASY;
+        highlightSelectedDifficultyButton(easyButton);
+    }
+
+    @FXML
+    private void handleMediumClick() {
+        selectedDifficultyGridSize = GRID_SIZE_MEDIUM;
+        selectedDifficultyMines = MINES_MEDIUM;
+        selectedDifficultyName = DIFFICULTY_MEDIUM;
+        highlightSelectedDifficultyButton(mediumButton);
+    }
+
+    @FXML
+    private void handleHardClick() {
+        selectedDifficultyGridSize = GRID_SIZE_HARD;
+        selectedDifficultyMines = MINES_HARD;
+        selectedDifficultyName = DIFFICULTY_HARD;
+        highlightSelectedDifficultyButton(hardButton);
+    }
+
+    @FXML
+    private void handleStartGame() {
+        String enteredName = nameField.getText().trim();
+        currentPlayerName = enteredName.isEmpty() ? DEFAULT_PLAYER_NAME : enteredName;
+        currentBoardId = null; // Play a new random board
+        noGuessMode = noGuessCheckBox != null && noGuessCheckBox.isSelected();
+        showGameScreen();
+    }
+
+    @FXML
+    private void handlePlayBoardId() {
+        String enteredName = nameField.getText().trim();
+        currentPlayerName = enteredName.isEmpty() ? DEFAULT_PLAYER_NAME : enteredName;
+
+        BoardId boardId;
+        try {
+            boardId = BoardId.parse(boardIdField.getText());
+        } catch (IllegalArgumentException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "\"" + boardIdField.getText().trim() + "\" is not a valid board ID.");
+            alert.initOwner(primaryStage);
+            alert.setHeaderText(null);
+            alert.showAndWait();
+            return;
+        }
+        currentBoardId = boardId;
+        showGameScreen();
+    }
+
+    @FXML
+    private void showLeaderboardScreen() {
+        BorderPane leaderboardRoot = new BorderPane();
+        VBox mainLayout = new VBox(20);
+        mainLayout.setAlignment(Pos.TOP_CENTER);
+        mainLayout.setPadding(new Insets(20));
+        mainLayout.setStyle("-fx-background-color: #f0f0f0;"); // Inline style for background
+
+        Label titleLabel = new Label("LEADERBOARD");
+        titleLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 36));
+        titleLabel.setTextFill(Color.BLUE);
+
+        TabPane tabPane = new TabPane();
+        tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE); // Tabs cannot be closed
+
+        // Create tabs for each difficulty level. A tab queries its records only when it is first selected.
+        for (String difficulty : new String[]{DIFFICULTY_EASY, DIFFICULTY_MEDIUM, DIFFICULTY_HARD}) {
+            Tab tab = new Tab(difficulty, new LeaderboardPager(dataManager, difficulty));
+            tab.setOnSelectionChanged(e -> {
+                if (tab.isSelected()) {
+                    ((LeaderboardPager) tab.getContent()).load();
+                }
+            });
+            tabPane.getTabs().add(tab);
+        }
+        ((LeaderboardPager) tabPane.getSelectionModel().getSelectedItem().getContent()).load();
+
+        Button backButton = new Button("Back to Menu");
+        backButton.getStyleClass().add("main-menu");
+        backButton.setOnAction(e -> showStartScreen()); // Navigate back to start screen
+
+        // Move records between installs; the files are read and written in the background.
+        Button importButton = new Button("Import...");
+        importButton.getStyleClass().add("main-menu");
+        importButton.setOnAction(e -> handleImportRecords());
+        Button exportButton = new Button("Export...");
+        exportButton.getStyleClass().add("main-menu");
+        exportButton.setOnAction(e -> handleExportRecords());
+        HBox buttons = new HBox(15, backButton, importButton, exportButton);
+        buttons.setAlignment(Pos.CENTER);
+
+        mainLayout.getChildren().addAll(titleLabel, tabPane, buttons);
+        leaderboardRoot.setCenter(mainLayout);
+
+        Scene leaderboardScene = new Scene(leaderboardRoot, 600, 500);
+        leaderboardScene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+        primaryStage.setScene(leaderboardScene);
+        primaryStage.setResizable(false);
+        primaryStage.show();
+    }
+
+    private void handleImportRecords() {
+        File file = createRecordsFileChooser("Import Records").showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        dataManager.importRecordsAsync(file.toPath()).whenCompleteAsync((changed, error) -> {
+            if (error != null) {
+                showRecordsError(error);
+                return;
+            }
+            showLeaderboardScreen(); // Reload the tables with the imported records
+        }, Platform::runLater);
+    }
+
+    private void handleExportRecords() {
+        FileChooser chooser = createRecordsFileChooser("Export Records");
+        chooser.setInitialFileName("minesweeper_records_export.json");
+        File file = chooser.showSaveDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        dataManager.exportRecordsAsync(file.toPath()).whenCompleteAsync((written, error) -> {
+            if (error != null) {
+                showRecordsError(error);
+            }
+        }, Platform::runLater);
+    }
+
+    private FileChooser createRecordsFileChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Records (*.json)", "*.json"));
+        return chooser;
+    }
+
+    private void showRecordsError(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error; // Unwrap the CompletionException
+        Alert alert = new Alert(Alert.AlertType.ERROR, cause.getMessage());
+        alert.initOwner(primaryStage);
+        alert.setHeaderText(null);
+        alert.showAndWait();
+    }
+
+    @FXML
+    private void handleExitButton() {
+        primaryStage.close();
+    }
+
+    private Button getButtonForDifficulty(String difficultyName) {
+        switch (difficultyName) {
+            case DIFFICULTY_EASY: return easyButton;
+            case DIFFICULTY_MEDIUM: return mediumButton;
+            case DIFFICULTY_HARD: return hardButton;
+            default: return null; // Should not happen with valid difficulty names.
+        }
+    }
+
+    private void showGameScreen() {
+        showGameScreen(this::restartGame); // The difficulty or board ID picked on the start screen
+    }
+
+    /**
+     * Builds the game screen and starts a game on it.
+     * @param startGame Shows the first board.
+     */
+    private void showGameScreen(Runnable startGame) {
+        gameRoot = new BorderPane();
+
+        HBox topPanel = new HBox(10);
+        topPanel.setAlignment(Pos.CENTER);
+        topPanel.setPadding(new Insets(10));
+
+        minesCounterLabel = new Label("Mines: " + selectedDifficultyMines);
+        minesCounterLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 13));
+        minesCounterLabel.getStyleClass().add("minesCounterLabel"); // Add CSS class
+
+        timerLabel = new Label("Time: 0");
+        timerLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 12));
+        timerLabel.setMinWidth(70); // Ensure enough space for timer text
+        timerLabel.getStyleClass().add("timer-label"); // Add CSS class
+
+        Button backToMenuButton = new Button("Back");
+        backToMenuButton.getStyleClass().add("main-menu"); // Apply common CSS style
+        backToMenuButton.setOnAction(e -> showStartScreen()); // Navigate back to start screen
+
+        newGameButton = new Button("😊"); // Emoji for new game button
+        newGameButton.setFont(new Font("Segoe UI Emoji", 30)); // Font for emoji
+        newGameButton.getStyleClass().add("start-again"); // Add CSS class
+        newGameButton.setOnAction(e -> restartGame());
+
+        topPanel.getChildren().addAll(minesCounterLabel, timerLabel, newGameButton, backToMenuButton);
+        gameRoot.setTop(topPanel);
+
+        gameGridPane = new GridPane();
+        gameGridPane.setAlignment(Pos.CENTER);
+        gameRoot.setCenter(gameGridPane);
+
+        startGame.run();
+
+        Scene gameScene = new Scene(gameRoot);
+        // Ensure CSS is loaded for the game scene.
+        gameScene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+        if (GameMetrics.ENABLED) {
+            gameScene.addPostLayoutPulseListener(this::recordRender); // Canvas repaints run earlier in the pulse
+        }
+        primaryStage.setScene(gameScene);
+        primaryStage.setResizable(true); // Game screen can be resizable
+        primaryStage.sizeToScene(); // Adjust stage size to fit the scene content
+    }
+
+    /**
+     * Initializes and starts a new Minesweeper game.
+     * Sets up the game board, initializes game logic, and starts the timer.
+     * @param size The grid size (rows and columns).
+     * @param mines The number of mines.
+     * @param difficultyName The name of the selected difficulty.
+     */
+    private void startGame(int size, int mines, String difficultyName) {
+        currentBoardId = null;
+        Board board = new Board(size, size); // Logical state of all cells
+        MinesweeperGame game = new MinesweeperGame(board, mines);
+        if (!noGuessMode) {
+            // Place and count the mines off the FX thread while the grid is built and the player aims.
+            // No-guess boards come ready from the board pool instead.
+            game.prepareMines(minePreparer);
+        }
+        showBoard(game, difficultyName);
+    }
+
+    /**
+     * Starts the exact board described by a board ID, with its first click already made.
+     * @param boardId The ID of the board to play.
+     */
+    private void startGame(BoardId boardId) {
+        currentBoardId = boardId;
+        showBoard(MinesweeperGame.fromBoardId(boardId), getDifficultyForBoard(boardId));
+    }
+
+    /**
+     * Starts the same kind of game again: the same board for a board ID, otherwise a new random board.
+     */
+    private void restartGame() {
+        if (currentBoardId != null) {
+            startGame(currentBoardId);
+        } else {
+            startGame(selectedDifficultyGridSize, selectedDifficultyMines, selectedDifficultyName);
+        }
+    }
+
+    private void showBoard(MinesweeperGame game, String difficultyName) {
+        showBoard(game, difficultyName, -1);
+    }
+
+    /**
+     * Shows a game's board and starts its timer.
+     * @param resumedElapsedNanos The time already played in a resumed game, or -1 for a new game.
+     */
+    private void showBoard(MinesweeperGame game, String difficultyName, long resumedElapsedNanos) {
+        Board board = game.getBoard();
+        this.gameLogic = game;
+        this.currentRows = board.getRows();
+        this.currentCols = board.getCols();
+        this.currentMines = game.getTotalMines();
+        this.currentDifficultyName = difficultyName;
+
+        gameGridPane.getChildren().clear(); // Clear any existing cells from the grid
+
+        if (Math.max(currentRows, currentCols) > CANVAS_RENDER_THRESHOLD) {
+            // Large boards are drawn on a single canvas; no Cell views or Buttons are created.
+            grid = null;
+            cellButtons = null;
+            canvasRenderer = new CanvasBoardRenderer(gameLogic, CELL_SIZE, FONT_NAME_BENZIN_BOLD);
+            canvasRenderer.setOnCellClicked(this::handleCellClick);
+            gameRoot.setCenter(canvasRenderer);
+        } else {
+            canvasRenderer = null;
+            gameRoot.setCenter(gameGridPane);
+            grid = new Cell[currentRows][currentCols];
+            cellButtons = new Button[currentRows][currentCols];
+
+            // Populate the game grid with Cell views and their corresponding Buttons
+            for (int row = 0; row < currentRows; row++) {
+                for (int col = 0; col < currentCols; col++) {
+                    Cell cell = new Cell(board, row, col);
+                    grid[row][col] = cell;
+
+                    Button cellButton = new Button();
+                    cellButtons[row][col] = cellButton;
+                    cellButton.setPrefSize(CELL_SIZE, CELL_SIZE);
+
+                    // Add mouse click event handler for each cell button.
+                    // This is the primary interaction point for the player.
+                    cellButton.setOnMouseClicked(event -> handleCellClick(cell.getRow(), cell.getCol(), event.getButton()));
+
+                    gameGridPane.add(cellButton, col, row); // Add button to the GridPane
+                }
+            }
+        }
+        showBoardIdInTitle(); // Boards started from an ID already have their first click
+        updateUI(); // Initial UI update to show initial state
+        startTimer(Math.max(0, resumedElapsedNanos)); // Start the game timer
+        // Times clicks from the same moment as the timer. The clicks before a resume were not recorded,
+        // so a resumed game is saved without a replay.
+        replayRecorder = resumedElapsedNanos < 0 ? new ReplayRecorder(gameLogic, gameTimer.getStartNanos()) : null;
+        if (resumedElapsedNanos < 0) {
+            deleteAutosave(); // A new game replaces the one that was saved
+            autosaveDirty = !gameLogic.isFirstClick(); // Boards from an ID start with a click
+        }
+        primaryStage.sizeToScene(); // Adjust window size after board is created
+    }
+
+    private void handleCellClick(int row, int col, MouseButton mouseButton) {
+        if (gameLogic.isGameOver()) {
+            return; // Prevent interaction if game is already over
+        }
+
+        long clickStart = GameMetrics.start();
+        boolean wasFirstClick = gameLogic.isFirstClick();
+        BoardChanges changes;
+        if (mouseButton == MouseButton.PRIMARY) {
+            if (replayRecorder != null) {
+                replayRecorder.recordLeftClick(row, col); // Before the click, to tell an open from a chord
+            }
+            // A click on a flag is ignored, so it must not pick the board.
+            int index = gameLogic.getBoard().index(row, col);
+            if (wasFirstClick && noGuessMode && !gameLogic.getBoard().isFlagged(index)) {
+                placeNoGuessBoard(row, col);
+            }
+            changes = gameLogic.handleLeftClick(row, col);
+        } else if (mouseButton == MouseButton.SECONDARY) {
+            if (replayRecorder != null) {
+                replayRecorder.recordRightClick(row, col);
+            }
+            changes = gameLogic.handleRightClick(row, col);
+        } else {
+            return;
+        }
+        if (wasFirstClick && !gameLogic.isFirstClick()) {
+            showBoardIdInTitle(); // The board exists only once the first click has placed the mines
+        }
+        if (!changes.isEmpty()) {
+            autosaveDirty = true;
+        }
+        // Set before updating, since the end-of-game dialog waits inside the update while frames go on.
+        renderPendingSince = clickStart;
+        renderPendingCells = changes.size();
+        updateUI(changes); // Refresh only the cells changed by this click
+    }
+
+    // Runs after layout in every pulse of the game scene, while metrics are enabled.
+    private void recordRender() {
+        if (renderPendingSince != 0) {
+            GameMetrics.recordClickToRender(renderPendingSince, renderPendingCells);
+            renderPendingSince = 0;
+        }
+    }
+
+    /**
+     * Hands the game a board that can be won without guessing from this first click, if one is ready in the pool.
+     * The click never waits for a search: if none fits, the game is played on a random board.
+     */
+    private void placeNoGuessBoard(int row, int col) {
+        BoardId boardId = boardPool.take(new BoardSpec(currentRows, currentCols, currentMines), row, col);
+        if (boardId != null) {
+            gameLogic.placeMinesFrom(boardId);
+        } else {
+            GameMetrics.recordNoGuessFallback(); // Playing a random board instead
+        }
+    }
+
+    private void showBoardIdInTitle() {
+        BoardId boardId = gameLogic.getBoardId();
+        primaryStage.setTitle(boardId == null ? "Minesweeper" : "Minesweeper - Board " + boardId);
+    }
+
+    private String getDifficultyForBoard(BoardId boardId) {
+        if (boardId.getRows() == boardId.getCols()) {
+            if (boardId.getRows() == GRID_SIZE_EASY && boardId.getMines() == MINES_EASY) return DIFFICULTY_EASY;
+            if (boardId.getRows() == GRID_SIZE_MEDIUM && boardId.getMines() == MINES_MEDIUM) return DIFFICULTY_MEDIUM;
+            if (boardId.getRows() == GRID_SIZE_HARD && boardId.getMines() == MINES_HARD) return DIFFICULTY_HARD;
+        }
+        return DIFFICULTY_CUSTOM;
+    }
+
+    /**
+     * Displays a dialog box at the end of the game (win or lose).
+     * Shows game outcome and provides options to play again or return to main menu.
+     * @param won True if the player won, false otherwise.
+     * @param saved The result of adding the record of a won game, or null if the game was lost.
+     */
+    private void showResultDialog(boolean won, CompletableFuture<Leaderboard.AddResult> saved) {
+        Stage dialogStage = new Stage();
+        dialogStage.initOwner(primaryStage);
+        dialogStage.initModality(Modality.APPLICATION_MODAL); // Blocks interaction with main window
+        dialogStage.setTitle(won ? "Congratulations!" : "Game Over!");
+        dialogStage.setResizable(false);
+
+        VBox dialogLayout = new VBox(20);
+        dialogLayout.setAlignment(Pos.CENTER);
+        dialogLayout.setPadding(new Insets(30));
+        dialogLayout.setStyle("-fx-background-color: lightgray;"); // Inline style for dialog background
+
+        String time = GameRecord.formatTime((int) (gameTimer.getElapsedNanos() / 1_000_000));
+        Label messageLabel = new Label(won ? "You won in " + time + " seconds!" : "You hit a mine! Game Over.");
+        messageLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 24));
+        messageLabel.setTextFill(won ? Color.DARKGREEN : Color.RED);
+
+        // Display personal best information if won, once the record has been added in the background.
+        if (won) {
+            String playerName = currentPlayerName; // Captured, as the lookup runs on the records thread
+            String difficultyName = currentDifficultyName;
+            CompletableFuture<GameRecord> personalBest =
+                    saved.thenCompose(result -> dataManager.getPlayerBestRecordAsync(playerName, difficultyName));
+            saved.thenAcceptBothAsync(personalBest, (result, best) -> {
+                if (result == Leaderboard.AddResult.IMPROVED) {
+                    Label newBestLabel = new Label("New personal best!");
+                    newBestLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 18));
+                    newBestLabel.setTextFill(Color.BLUE);
+                    dialogLayout.getChildren().add(0, newBestLabel);
+                } else if (best != null) {
+                    Label currentBestLabel = new Label("Your best for " + difficultyName + " is: " + GameRecord.formatTime(best.getTimeInMillis()) + " seconds");
+                    currentBestLabel.setFont(new Font(FONT_NAME_BENZIN_BOLD, 16));
+                    currentBestLabel.getStyleClass().add("dialog-current-best-label"); // Add CSS class
+                    dialogLayout.getChildren().add(0, currentBestLabel);
+                }
+                dialogStage.sizeToScene();
+            }, Platform::runLater);
+        }
+
+        // Show the board ID so the same board can be shared or replayed.
+        BoardId boardId = gameLogic.getBoardId();
+        if (boardId != null) {
+            TextField boardIdText = new TextField(boardId.toString());
+            boardIdText.setEditable(false); // Read-only, but still selectable for copying
+            boardIdText.setMaxWidth(260);
+            dialogLayout.getChildren().add(new HBox(10, new Label("Board ID:"), boardIdText));
+        }
+
+        HBox buttonsContainer = new HBox(15);
+        buttonsContainer.setAlignment(Pos.CENTER);
+        buttonsContainer.getStyleClass().add("dialog-buttons-container"); // Add CSS class
+
+        Button playAgainButton = new Button("Play Again");
+        playAgainButton.setFont(new Font("Arial", 16));
+        playAgainButton.getStyleClass().add("start-again"); // Apply common CSS style
+        playAgainButton.setOnAction(e -> {
+            dialogStage.close();
+            restartGame(); // Start a new game
+        });
+
+        Button mainMenuButton = new Button("Main Menu");
+        mainMenuButton.setFont(new Font("Arial", 16));
+        mainMenuButton.getStyleClass().add("main-menu"); // Apply common CSS style
+        mainMenuButton.setOnAction(e -> {
+            dialogStage.close();
+            showStartScreen(); // Return to the start screen
+        });
+
+        buttonsContainer.getChildren().addAll(playAgainButton, mainMenuButton);
+        dialogLayout.getChildren().addAll(messageLabel, buttonsContainer);
+
+        Scene dialogScene = new Scene(dialogLayout);
+        dialogScene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+        dialogStage.setScene(dialogScene);
+        dialogStage.showAndWait();
+    }
+
+    /**
+     * Repaints every cell. Used when a new board is shown.
+     */
+    private void updateUI() {
+        repaintAllCells();
+        updateGameStatus();
+    }
+
+    /**
+     * Repaints only the cells changed by the last action.
+     * When the game ends every cell changes its look, so the whole board is repainted once.
+     * @param changes The cells affected by the last click.
+     */
+    private void updateUI(BoardChanges changes) {
+        long start = GameMetrics.start();
+        if (canvasRenderer != null) {
+            canvasRenderer.repaint(changes);
+        } else if (changes.isGameEnded()) {
+            repaintAllCells();
+        } else {
+            for (int i = 0; i < changes.size(); i++) {
+                int index = changes.cellAt(i);
+                updateCellUI(grid[index / currentCols][index % currentCols]);
+            }
+        }
+        GameMetrics.recordUiUpdate(start, changes.size()); // Before the status, which may open a dialog and wait
+        updateGameStatus();
+    }
+
+    private void repaintAllCells() {
+        if (canvasRenderer != null) {
+            canvasRenderer.repaintAll();
+            return;
+        }
+        for (int r = 0; r < currentRows; r++) {
+            for (int c = 0; c < currentCols; c++) {
+                updateCellUI(grid[r][c]);
+            }
+        }
+    }
+
+    private void updateGameStatus() {
+        // Update the mines counter based on the flag count the game keeps up to date.
+        minesCounterLabel.setText("Mines: " + (currentMines - gameLogic.getFlagCount()));
+
+        // Handle game over conditions (win or lose).
+        if (gameLogic.isGameOver()) {
+            long elapsedNanos = gameTimer.stop(); // Before any dialog, so the time stops with the last click
+            showElapsedTime();
+            if (gameLogic.isGameWon()) {
+                newGameButton.setText("😎");
+                // Save the game record if won, in milliseconds so equal seconds are still ranked.
+                GameRecord record = GameRecord.ofMillis(currentPlayerName, currentDifficultyName,
+                        (int) (elapsedNanos / 1_000_000));
+                // Saved in the background, with the replay of the game.
+                CompletableFuture<Leaderboard.AddResult> saved = dataManager.addRecordAsync(record,
+                        replayRecorder != null ? replayRecorder.finish() : null);
+                showResultDialog(true, saved);
+            } else {
+                // Player lost the game.
+                newGameButton.setText("😵");
+                showResultDialog(false, null);
+            }
+            deleteAutosave(); // A finished game cannot be resumed
+            disableAllButtons();
+        } else {
+            newGameButton.setText("😊");
+        }
+    }
+
+    /**
+     * Starts the game timer.
+     * @param elapsedNanos Time already played, for a resumed game.
+     */
+    private void startTimer(long elapsedNanos) {
+        gameTimer.start(elapsedNanos); // Replaces the previous game's timing
+        showElapsedTime(); // Reset timer label
+    }
+
+    private void showElapsedTime() {
+        timerLabel.setText("Time: " + gameTimer.getElapsedNanos() / 1_000_000_000);
+    }
+
+    static String getNumberColor(int count) {
+        switch (count) {
+            case 1: return "#0000FF"; // Blue
+            case 2: return "#008000"; // Green
+            case 3: return "#FF0000"; // Red
+            case 4: return "#00008B"; // DarkBlue
+            case 5: return "#800000"; // Maroon
+            case 6: return "#008080"; // Teal
+            case 7: return "#000000"; // Black
+            case 8: return "#808080"; // Gray
+            default: return "#000000"; // Default to black for invalid counts
+        }
+    }
+
+    private void highlightSelectedDifficultyButton(Button selectedButton) {
+        // Remove selection style from all difficulty buttons.
+        if (easyButton != null) easyButton.getStyleClass().remove("difficulty-button-selected");
+        if (mediumButton != null) mediumButton.getStyleClass().remove("difficulty-button-selected");
+        if (hardButton != null) hardButton.getStyleClass().remove("difficulty-button-selected");
+
+        // Add selection style only to the newly selected button.
+        if (selectedButton != null) {
+            selectedButton.getStyleClass().add("difficulty-button-selected");
+        }
+    }
+
+    private void updateCellUI(Cell cell) {
+        Button button = cellButtons[cell.getRow()][cell.getCol()]; // Get the JavaFX Button associated with the cell
+
+        // DEBUG FEATURE: Shows mines during gameplay for development purposes.
+        // This block should ideally be removed for a final production build.
+        /*
+        if (cell.isMine() && !gameLogic.isGameOver()) {
+            button.setText("M");
+            button.setStyle("-fx-background-color: #FFDAB9; -fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black;");
+            return; // Exit early to prevent further styling
+        }
+        */
+
+        // Handle styling when the game is over (win or lose).
+        if (gameLogic.isGameOver()) {
+            button.setDisable(true); // Disable interaction with all cells after game over
+
+            if (cell.isMine()) {
+                if (cell.isOpen()) {
+                    // Exploded mine
+                    button.setText("💥");
+                    button.setStyle("-fx-background-color: red; -fx-border-color: darkred;");
+                } else if (cell.isFlagged() && gameLogic.isGameWon()) {
+                    // Correctly flagged mine when game is won
+                    button.setText("🚩");
+                    button.setStyle("-fx-background-color: lightgreen; -fx-border-color: darkgreen;");
+                } else if (cell.isFlagged() && !gameLogic.isGameWon()) {
+                    // Flagged mine when game is lost (still a flag but context of loss)
+                    button.setText("🚩");
+                    button.setStyle("-fx-background-color: darkgreen; -fx-border-color: black;");
+                } else {
+                    // Mine that was not opened or flagged, revealed on game over (loss)
+                    button.setText("💣");
+                    button.setStyle("-fx-background-color: darkgray; -fx-border-color: #808080;");
+                }
+            } else if (cell.isFlagged() && !cell.isMine()) {
+                // Incorrectly flagged cell (not a mine)
+                button.setText("❌");
+                button.setStyle("-fx-background-color: orange; -fx-border-color: darkorange;");
+            } else {
+                // Regular opened cell or un-flagged non-mine cell on game over
+                button.setText(""); // Reset text
+                button.setStyle("-fx-background-color: lightgray; -fx-border-color: darkgray;"); // Style for opened cell
+                if (cell.getMinesAround() > 0) {
+                    button.setText(String.valueOf(cell.getMinesAround()));
+                    String textColor = getNumberColor(cell.getMinesAround());
+                    // Apply font and text color for numbers.
+                    button.setStyle("-fx-background-color: lightgray; -fx-border-color: darkgray; -fx-font-family: \"" + FONT_NAME_BENZIN_BOLD + "\"; -fx-text-fill: " + textColor + ";");
+                }
+            }
+            return; // Exit as game is over, no further state changes needed
+        }
+
+        // Handle styling for cells during active gameplay.
+        if (cell.isOpen()) {
+            button.setText("");
+            button.setStyle("-fx-background-color: lightgray; -fx-border-color: darkgray;"); // Default style for opened cell
+
+            if (cell.getMinesAround() > 0) {
+                button.setText(String.valueOf(cell.getMinesAround()));
+                String textColor = getNumberColor(cell.getMinesAround());
+                // Apply font and text color for numbers.
+                button.setStyle("-fx-background-color: lightgray; -fx-border-color: darkgray; -fx-font-family: \"" + FONT_NAME_BENZIN_BOLD + "\"; -fx-text-fill: " + textColor + ";");
+            }
+        } else {
+            // Cell is currently closed.
+            button.setDisable(false);
+            button.setText("");
+
+            if (cell.isFlagged()) {
+                // Cell is flagged
+                button.setText("🚩");
+                button.setStyle("-fx-background-color: yellowgreen; -fx-border-color: darkgreen;");
+            } else if (cell.isQuestioned()) {
+                // Cell is marked with a question mark
+                button.setText("❓");
+                button.setStyle("-fx-background-color: lightblue; -fx-border-color: darkblue;");
+            } else {
+                button.setStyle("-fx-background-color: #C0C0C0; -fx-border-color: #808080;"); // Standard Minesweeper grey
+            }
+        }
+    }
+
+    private void disableAllButtons() {
+        if (grid == null) {
+            return; // The canvas ignores clicks once the game is over
+        }
+        for (int r = 0; r < currentRows; r++) {
+            for (int c = 0; c < currentCols; c++) {
+                cellButtons[r][c].setDisable(true);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        launch();
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.minesweeper;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+/**
+ * The `CanvasBoardRenderer` draws the whole board on a single {@link Canvas} instead of one Button per cell.
+ * The canvas is only as large as the visible viewport: only the cells inside it are painted,
+ * and after an action only the changed (dirty) cells are repainted.
+ * The board can be panned by dragging or scrolling; clicks are mapped back to cells from the mouse coordinates.
+ */
+public class CanvasBoardRenderer extends Region {
+
+    /**
+     * Receives clicks on board cells.
+     */
+    public interface CellClickHandler {
+        void onCellClicked(int row, int col, MouseButton button);
+    }
+
+    private static final double MAX_VIEWPORT_WIDTH = 1200;  // Largest preferred viewport, in pixels
+    private static final double MAX_VIEWPORT_HEIGHT = 800;
+    private static final double DRAG_THRESHOLD = 4;          // Mouse travel that turns a click into a pan
+
+    private static final Color CLOSED_FILL = Color.web("#C0C0C0");
+    private static final Color CLOSED_BORDER = Color.web("#808080");
+    private static final Color OPEN_FILL = Color.LIGHTGRAY;
+    private static final Color OPEN_BORDER = Color.DARKGRAY;
+
+    private final Board board;
+    private final MinesweeperGame game;
+    private final int cellSize;
+    private final Canvas canvas = new Canvas();
+    private final Color[] numberColors = new Color[9];
+    private final Font numberFont;
+    private final Font markFont;
+    private CellClickHandler clickHandler;
+
+    // --- Viewport ---
+    private double offsetX; // Board pixel shown at the left edge of the canvas
+    private double offsetY; // Board pixel shown at the top edge of the canvas
+
+    // --- Pending repaint ---
+    private int[] dirtyCells = new int[64]; // Board indices waiting to be repainted
+    private int dirtyCount;
+    private boolean fullRepaint = true;     // True if the whole viewport must be repainted
+    private final AnimationTimer repaintPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop(); // Paint once, then stay idle until something changes again
+            paint();
+        }
+    };
+
+    // --- Mouse state for telling pans from clicks ---
+    private double pressX;
+    private double pressY;
+    private double pressOffsetX;
+    private double pressOffsetY;
+    private boolean dragging;
+
+    public CanvasBoardRenderer(MinesweeperGame game, int cellSize, String numberFontName) {
+        this.game = game;
+        this.board = game.getBoard();
+        this.cellSize = cellSize;
+        this.numberFont = new Font(numberFontName, cellSize * 0.5);
+        this.markFont = new Font(cellSize * 0.45);
+        for (int count = 1; count <= 8; count++) {
+            numberColors[count] = Color.web(App.getNumberColor(count));
+        }
+
+        getChildren().add(canvas);
+        setPrefSize(Math.min(board.getCols() * cellSize, MAX_VIEWPORT_WIDTH),
+                Math.min(board.getRows() * cellSize, MAX_VIEWPORT_HEIGHT));
+        setMinSize(cellSize, cellSize);
+
+        canvas.setOnMousePressed(this::handleMousePressed);
+        canvas.setOnMouseDragged(this::handleMouseDragged);
+        canvas.setOnMouseReleased(this::handleMouseReleased);
+        canvas.setOnScroll(this::handleScroll);
+    }
+
+    public void setOnCellClicked(CellClickHandler clickHandler) {
+        this.clickHandler = clickHandler;
+    }
+
+    /**
+     * Schedules a repaint of the cells changed by the last action.
+     * Cells outside the viewport are skipped; they are painted when they scroll into view.
+     */
+    public void repaint(BoardChanges changes) {
+        if (changes.isGameEnded()) {
+            repaintAll(); // Every cell changes its look when the game ends
+            return;
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            int index = changes.cellAt(i);
+            if (isVisible(board.rowOf(index), board.colOf(index))) {
+                addDirtyCell(index);
+            }
+        }
+        if (dirtyCount > 0) {
+            repaintPulse.start();
+        }
+    }
+
+    /** Schedules a repaint of the whole viewport. */
+    public void repaintAll() {
+        fullRepaint = true;
+        dirtyCount = 0;
+        repaintPulse.start();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            scrollTo(offsetX, offsetY); // Keep the offsets valid for the new viewport size
+            repaintAll();
+        }
+    }
+
+    // --- Painting ---
+
+    private void paint() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        if (fullRepaint) {
+            gc.setFill(Color.WHITE);
+            gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            int firstRow = (int) (offsetY / cellSize);
+            int firstCol = (int) (offsetX / cellSize);
+            int lastRow = Math.min(board.getRows() - 1, (int) ((offsetY + canvas.getHeight()) / cellSize));
+            int lastCol = Math.min(board.getCols() - 1, (int) ((offsetX + canvas.getWidth()) / cellSize));
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = firstCol; c <= lastCol; c++) {
+                    paintCell(gc, r, c);
+                }
+            }
+            fullRepaint = false;
+        } else {
+            for (int i = 0; i < dirtyCount; i++) {
+                int index = dirtyCells[i];
+                paintCell(gc, board.rowOf(index), board.colOf(index));
+            }
+        }
+        dirtyCount = 0;
+    }
+
+    private void paintCell(GraphicsContext gc, int r, int c) {
+        int index = board.index(r, c);
+        double x = c * cellSize - offsetX;
+        double y = r * cellSize - offsetY;
+
+        Color fill;
+        Color border;
+        String text = null;
+        Color textColor = Color.BLACK;
+        Font font = markFont;
+
+        if (game.isGameOver() && (board.isMine(index) || board.isFlagged(index))) {
+            // Same end-of-game looks as the Button board.
+            if (!board.isMine(index)) {
+                fill = Color.ORANGE; border = Color.DARKORANGE; text = "❌"; // Incorrectly flagged cell
+            } else if (board.isOpen(index)) {
+                fill = Color.RED; border = Color.DARKRED; text = "💥"; // Exploded mine
+            } else if (board.isFlagged(index)) {
+                fill = game.isGameWon() ? Color.LIGHTGREEN : Color.DARKGREEN;
+                border = game.isGameWon() ? Color.DARKGREEN : Color.BLACK;
+                text = "🚩";
+            } else {
+                fill = Color.DARKGRAY; border = CLOSED_BORDER; text = "💣"; // Mine revealed on loss
+            }
+        } else if (board.isOpen(index) || game.isGameOver()) {
+            fill = OPEN_FILL;
+            border = OPEN_BORDER;
+            int count = board.getMinesAround(index);
+            if (count > 0) {
+                text = String.valueOf(count);
+                textColor = numberColors[count];
+                font = numberFont;
+            }
+        } else if (board.isFlagged(index)) {
+            fill = Color.YELLOWGREEN; border = Color.DARKGREEN; text = "🚩";
+        } else if (board.isQuestioned(index)) {
+            fill = Color.LIGHTBLUE; border = Color.DARKBLUE; text = "❓";
+        } else {
+            fill = CLOSED_FILL; border = CLOSED_BORDER;
+        }
+
+        gc.setFill(fill);
+        gc.fillRect(x, y, cellSize, cellSize);
+        gc.setStroke(border);
+        gc.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+        if (text != null) {
+            gc.setFill(textColor);
+            gc.setFont(font);
+            gc.fillText(text, x + cellSize / 2.0, y + cellSize / 2.0);
+        }
+    }
+
+    private boolean isVisible(int r, int c) {
+        double x = c * cellSize - offsetX;
+        double y = r * cellSize - offsetY;
+        return x + cellSize > 0 && x < canvas.getWidth() && y + cellSize > 0 && y < canvas.getHeight();
+    }
+
+    private void addDirtyCell(int index) {
+        if (fullRepaint) {
+            return; // Already covered by the pending full repaint
+        }
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
+        }
+        dirtyCells[dirtyCount++] = index;
+    }
+
+    // --- Panning and hit testing ---
+
+    private void scrollTo(double x, double y) {
+        double maxX = Math.max(0, board.getCols() * cellSize - canvas.getWidth());
+        double maxY = Math.max(0, board.getRows() * cellSize - canvas.getHeight());
+        double clampedX = Math.max(0, Math.min(maxX, x));
+        double clampedY = Math.max(0, Math.min(maxY, y));
+        if (clampedX != offsetX || clampedY != offsetY) {
+            offsetX = clampedX;
+            offsetY = clampedY;
+            repaintAll();
+        }
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        pressX = event.getX();
+        pressY = event.getY();
+        pressOffsetX = offsetX;
+        pressOffsetY = offsetY;
+        dragging = false;
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        double dx = event.getX() - pressX;
+        double dy = event.getY() - pressY;
+        if (!dragging && Math.abs(dx) < DRAG_THRESHOLD && Math.abs(dy) < DRAG_THRESHOLD) {
+            return; // Small jitter during a click
+        }
+        dragging = true;
+        scrollTo(pressOffsetX - dx, pressOffsetY - dy);
+    }
+
+    private void handleMouseReleased(MouseEvent event) {
+        if (dragging) {
+            dragging = false;
+            return; // The press started a pan, not a click
+        }
+        int col = (int) ((event.getX() + offsetX) / cellSize);
+        int row = (int) ((event.getY() + offsetY) / cellSize);
+        if (clickHandler != null && board.contains(row, col)) {
+            clickHandler.onCellClicked(row, col, event.getButton());
+        }
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        scrollTo(offsetX - event.getDeltaX(), offsetY - event.getDeltaY());
+        event.consume();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.minesweeper;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The `LeaderboardPager` shows one difficulty's records a page at a time, best first.
+ * Nothing is queried until {@link #load()} is called, and every page is fetched in the background
+ * while a loading placeholder is shown. Pages are read after the last record of the previous page,
+ * so a page costs the same however far down the leaderboard it is.
+ */
+public class LeaderboardPager extends VBox {
+
+    static final int PAGE_SIZE = 100;
+
+    private final DataManager dataManager;
+    private final String difficulty;
+    private final TableView<GameRecord> tableView = new TableView<>();
+    private final Button previousButton = new Button("< Previous");
+    private final Button nextButton = new Button("Next >");
+    private final Label pageLabel = new Label();
+    private final List<GameRecord> pageStarts = new ArrayList<>(); // The record each shown page follows; null for the first
+    private int page = -1; // -1 until loaded
+    private boolean loading;
+
+    public LeaderboardPager(DataManager dataManager, String difficulty) {
+        super(10);
+        this.dataManager = dataManager;
+        this.difficulty = difficulty;
+
+        tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN); // Columns adjust to fit
+        tableView.setPlaceholder(new Label("Loading records..."));
+
+        TableColumn<GameRecord, GameRecord> rankCol = new TableColumn<>("#");
+        rankCol.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(GameRecord item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : Integer.toString(page * PAGE_SIZE + getIndex() + 1));
+            }
+        });
+        rankCol.setPrefWidth(50);
+        rankCol.setSortable(false); // The order comes from the leaderboard
+
+        TableColumn<GameRecord, String> nameCol = new TableColumn<>("Player Name");
+        nameCol.setCellValueFactory(new PropertyValueFactory<>("playerName"));
+        nameCol.setPrefWidth(200); // Set preferred width for column
+        nameCol.setSortable(false);
+
+        TableColumn<GameRecord, String> timeCol = new TableColumn<>("Time (s)");
+        timeCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(GameRecord.formatTime(data.getValue().getTimeInMillis())));
+        timeCol.setPrefWidth(100); // Set preferred width for column
+        timeCol.setStyle("-fx-alignment: CENTER-RIGHT;"); // Align time to the right
+        timeCol.setSortable(false);
+
+        tableView.getColumns().addAll(List.of(rankCol, nameCol, timeCol));
+        VBox.setVgrow(tableView, Priority.ALWAYS);
+
+        previousButton.setOnAction(e -> showPage(page - 1));
+        nextButton.setOnAction(e -> showPage(page + 1));
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+        HBox pageControls = new HBox(15, previousButton, pageLabel, nextButton);
+        pageControls.setAlignment(Pos.CENTER);
+
+        getChildren().addAll(tableView, pageControls);
+    }
+
+    /**
+     * Starts loading the first page, unless it has been loaded already.
+     */
+    public void load() {
+        if (page < 0 && !loading) {
+            pageStarts.add(null);
+            showPage(0);
+        }
+    }
+
+    private void showPage(int newPage) {
+        loading = true;
+        previousButton.setDisable(true);
+        nextButton.setDisable(true);
+        tableView.getItems().clear();
+        tableView.setPlaceholder(new Label("Loading records..."));
+        // One record more than a page tells whether there is a next page.
+        dataManager.getRecordsAfterAsync(difficulty, pageStarts.get(newPage), PAGE_SIZE + 1).thenAcceptAsync(records -> {
+            loading = false;
+            page = newPage;
+            boolean hasNext = records.size() > PAGE_SIZE;
+            List<GameRecord> shown = hasNext ? records.subList(0, PAGE_SIZE) : records;
+            pageStarts.subList(page + 1, pageStarts.size()).clear(); // Later pages may have moved
+            if (hasNext) {
+                pageStarts.add(shown.get(shown.size() - 1));
+            }
+            tableView.getItems().setAll(shown);
+            tableView.setPlaceholder(new Label("No records yet for " + difficulty + " difficulty."));
+            tableView.scrollTo(0);
+            pageLabel.setText("Page " + (page + 1));
+            previousButton.setDisable(page == 0);
+            nextButton.setDisable(!hasNext);
+        }, Platform::runLater);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways the UI can find out what to repaint after placing a flag:
+ * walking the change set reported by the game, or rescanning every cell and recounting
+ * the flags the way {@code App.updateUI} used to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardChangesBenchmark {
+
+    @Param({"16", "256", "2048"})
+    private int size;
+
+    private MinesweeperGame game;
+    private Board board;
+    private int targetRow; // A closed cell the benchmarks keep right-clicking
+    private int targetCol;
+
+    @Setup(Level.Trial)
+    public void startGame() {
+        board = new Board(size, size);
+        game = new MinesweeperGame(board, board.size() / 10);
+        game.handleLeftClick(0, 0); // Place the mines so right-clicks are handled as in a running game
+        int target = board.size() - 1;
+        while (board.isOpen(target)) {
+            target--;
+        }
+        targetRow = board.rowOf(target);
+        targetCol = board.colOf(target);
+    }
+
+    @Benchmark
+    public void changeSet(Blackhole blackhole) {
+        // Cycles one closed cell through flag -> question -> closed, one step per invocation.
+        BoardChanges changes = game.handleRightClick(targetRow, targetCol);
+        for (int i = 0; i < changes.size(); i++) {
+            blackhole.consume(changes.cellAt(i));
+            blackhole.consume(changes.toState(i));
+        }
+        blackhole.consume(game.getFlagCount());
+    }
+
+    @Benchmark
+    public void fullRescan(Blackhole blackhole) {
+        game.handleRightClick(targetRow, targetCol);
+        int flags = 0;
+        for (int index = 0; index < board.size(); index++) {
+            CellState state = board.getState(index);
+            blackhole.consume(state);
+            if (state == CellState.FLAGGED) {
+                flags++;
+            }
+        }
+        blackhole.consume(flags);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times chording on open numbered cells whose closed neighbours are all flagged mines.
+ * Such a chord counts the flags and checks every neighbour but opens nothing,
+ * so it can be repeated without resetting the board. Opening itself is covered by {@link FloodFillBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChordBenchmark {
+
+    @Param({"16", "256", "2048"})
+    private int size;
+
+    @Param({"0.15"})
+    private double density;
+
+    private MinesweeperGame game;
+    private int[] chordCells; // Row-major indices of cells that can be chorded without opening anything
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepareBoard() {
+        Board board = new Board(size, size);
+        int[] found = new int[0];
+        // Keep trying boards until the first click leaves at least one chordable cell.
+        while (found.length == 0) {
+            game = new MinesweeperGame(board, (int) (board.size() * density));
+            game.setClearFirstClickNeighbours(true);
+            game.handleLeftClick(size / 2, size / 2);
+            found = flagChordableCells(board);
+        }
+        chordCells = found;
+    }
+
+    private int[] flagChordableCells(Board board) {
+        int[] cells = new int[board.size()];
+        int count = 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (!board.isOpen(index) || board.getMinesAround(index) == 0 || !closedNeighboursAreMines(board, index)) {
+                continue;
+            }
+            flagMineNeighbours(board, index);
+            cells[count++] = index;
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    private boolean closedNeighboursAreMines(Board board, int index) {
+        int r = board.rowOf(index);
+        int c = board.colOf(index);
+        for (int nr = r - 1; nr <= r + 1; nr++) {
+            for (int nc = c - 1; nc <= c + 1; nc++) {
+                if (board.contains(nr, nc)) {
+                    int neighbor = board.index(nr, nc);
+                    if (!board.isOpen(neighbor) && !board.isMine(neighbor)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void flagMineNeighbours(Board board, int index) {
+        int r = board.rowOf(index);
+        int c = board.colOf(index);
+        for (int nr = r - 1; nr <= r + 1; nr++) {
+            for (int nc = c - 1; nc <= c + 1; nc++) {
+                if (board.contains(nr, nc)) {
+                    int neighbor = board.index(nr, nc);
+                    if (board.isMine(neighbor) && !board.isFlagged(neighbor)) {
+                        game.handleRightClick(nr, nc); // Closed -> Flag
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BoardChanges chord() {
+        int index = chordCells[next];
+        next = next + 1 == chordCells.length ? 0 : next + 1;
+        Board board = game.getBoard();
+        return game.handleLeftClick(board.rowOf(index), board.colOf(index));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times opening a cell on the worst-case board for the flood fill: a board without mines,
+ * where the first click opens every cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloodFillBenchmark {
+
+    @Param({"16", "256", "2048"})
+    private int size;
+
+    private MinesweeperGame game;
+
+    @Setup(Level.Trial)
+    public void createGame() {
+        game = new MinesweeperGame(new Board(size, size), 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetBoard() {
+        game.resetGame();
+    }
+
+    @Benchmark
+    public BoardChanges openEmptyBoard() {
+        return game.handleLeftClick(size / 2, size / 2);
+    }
+}
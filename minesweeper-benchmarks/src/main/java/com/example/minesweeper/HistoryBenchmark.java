@@ -0,0 +1,80 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times undoing and redoing a 10,000-move history on a large board. The setup plays random moves through a
+ * {@link GameHistory}: flag toggles on closed cells and opens of safe cells, some of which flood large areas.
+ * Undoing the whole history and redoing it leaves the board as it was, so the benchmark can repeat it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+
+    private static final int MOVES = 10_000;
+
+    @Param({"1024"})
+    private int size;
+
+    @Param({"0.15"})
+    private double density;
+
+    private GameHistory history;
+
+    @Setup(Level.Trial)
+    public void playMoves() {
+        Board board = new Board(size, size);
+        MinesweeperGame game = new MinesweeperGame(board, (int) (board.size() * density), 42);
+        game.setClearFirstClickNeighbours(true);
+        history = new GameHistory(game, MOVES, Long.MAX_VALUE);
+        history.handleLeftClick(size / 2, size / 2);
+        SplittableRandom random = new SplittableRandom(42);
+        while (history.getUndoCount() < MOVES) {
+            int index = random.nextInt(board.size());
+            if (board.isOpen(index)) {
+                continue;
+            }
+            if (board.isMine(index) || random.nextInt(4) == 0) {
+                history.handleRightClick(board.rowOf(index), board.colOf(index));
+            } else if (!board.isFlagged(index)) {
+                history.handleLeftClick(board.rowOf(index), board.colOf(index));
+            }
+        }
+    }
+
+    @Benchmark
+    public int undoAndRedoOne() {
+        return history.undo().size() + history.redo().size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long undoAndRedoAll() {
+        long cells = 0;
+        for (BoardChanges changes = history.undo(); changes != null; changes = history.undo()) {
+            cells += changes.size();
+        }
+        for (BoardChanges changes = history.redo(); changes != null; changes = history.redo()) {
+            cells += changes.size();
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Times the leaderboard queries the UI makes: the top ten of a difficulty, a page from the middle of the
+ * leaderboard screen, and a player's personal best for the end-of-game dialog. The {@code scan} variants repeat the previous
+ * implementation, which filtered and sorted the full record list on every call, for comparison.
+ * Records come from a synthetic in-memory store with one record per player and difficulty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeaderboardBenchmark {
+
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    @Param({"100000", "10000000"})
+    private int records;
+
+    private DataManager dataManager;
+    private List<GameRecord> recordList; // The flat list the previous implementation scanned
+    private String[] players;
+    private GameRecord pageAnchor; // A Hard record with a random time, so its page is mid-leaderboard
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepareRecords() {
+        SplittableRandom random = new SplittableRandom(42);
+        recordList = new ArrayList<>(records);
+        int playerCount = (records + DIFFICULTIES.length - 1) / DIFFICULTIES.length;
+        players = new String[1024];
+        for (int i = 0; i < records; i++) {
+            String player = "player" + (i / DIFFICULTIES.length);
+            recordList.add(new GameRecord(player, DIFFICULTIES[i % DIFFICULTIES.length], 1 + random.nextInt(3600)));
+        }
+        for (int i = 0; i < players.length; i++) {
+            players[i] = "Player" + random.nextInt(playerCount); // Looked up ignoring case
+        }
+        pageAnchor = recordList.get(2); // Players take Easy, Medium and Hard in turn
+        dataManager = new DataManager(new RecordStore() {
+            @Override
+            public void load(Consumer<GameRecord> consumer) {
+                recordList.forEach(consumer);
+            }
+
+            @Override
+            public void save(List<GameRecord> changed, Collection<GameRecord> allRecords) {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @Benchmark
+    public List<GameRecord> leaderboardTopTen() {
+        return dataManager.getBestRecords("Hard", 10);
+    }
+
+    @Benchmark
+    public List<GameRecord> leaderboardMiddlePage() {
+        return dataManager.getRecordsAfter("Hard", pageAnchor, 100);
+    }
+
+    @Benchmark
+    public GameRecord playerBest() {
+        String player = players[next];
+        next = (next + 1) & (players.length - 1);
+        return dataManager.getPlayerBestRecord(player, "Hard");
+    }
+
+    @Benchmark
+    public List<GameRecord> scanLeaderboardTopTen() {
+        return recordList.stream()
+                .filter(r -> r.getDifficulty().equalsIgnoreCase("Hard"))
+                .sorted(Comparator.comparingInt(GameRecord::getTimeInSeconds))
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public GameRecord scanPlayerBest() {
+        String player = players[next];
+        next = (next + 1) & (players.length - 1);
+        return recordList.stream()
+                .filter(r -> r.getPlayerName().equalsIgnoreCase(player) && r.getDifficulty().equalsIgnoreCase("Hard"))
+                .min(Comparator.comparingInt(GameRecord::getTimeInSeconds))
+                .orElse(null);
+    }
+}
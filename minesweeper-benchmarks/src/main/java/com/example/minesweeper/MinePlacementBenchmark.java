@@ -0,0 +1,55 @@
+package com.example.minesweeper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times {@link MinesweeperGame#placeMines} across board sizes and mine densities.
+ * Placement should cost the same per mine at any density.
+ * The board is reset before every invocation, so very small boards mostly measure JMH overhead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinePlacementBenchmark {
+
+    @Param({"16", "256", "2048"})
+    private int size;
+
+    @Param({"0.01", "0.15", "0.5", "0.9"})
+    private double density;
+
+    private MinesweeperGame game;
+
+    @Setup(Level.Trial)
+    public void createGame() {
+        Board board = new Board(size, size);
+        game = new MinesweeperGame(board, (int) (board.size() * density));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetBoard() {
+        game.resetGame();
+    }
+
+    @Benchmark
+    public MinesweeperGame placeMines() {
+        game.placeMines(size / 2, size / 2);
+        return game;
+    }
+}
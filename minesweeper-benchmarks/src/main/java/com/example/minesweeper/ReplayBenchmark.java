@@ -0,0 +1,78 @@
+package com.example.minesweeper;
+
+import com.example.minesweeper.replay.Replay;
+import com.example.minesweeper.replay.ReplayPlayer;
+import com.example.minesweeper.replay.ReplayRecorder;
+import com.example.minesweeper.solver.MinesweeperSolver;
+import com.example.minesweeper.solver.SolverResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times verifying a recorded win on an expert board (16x30, 99 mines): decoding the replay and
+ * playing every click back on a fresh game as fast as possible. The setup records games won by
+ * the solver, one safe cell per click, so each replay has a realistic number of events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    private static final int ROWS = 16;
+    private static final int COLS = 30;
+    private static final int MINES = 99;
+    private static final int REPLAYS = 32;
+
+    private Replay[] replays;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void recordGames() {
+        MinesweeperSolver solver = new MinesweeperSolver(ROWS, COLS);
+        SplittableRandom seeds = new SplittableRandom(42);
+        List<Replay> won = new ArrayList<>();
+        while (won.size() < REPLAYS) {
+            Board board = new Board(ROWS, COLS);
+            MinesweeperGame game = new MinesweeperGame(board, MINES, seeds.nextLong());
+            game.setClearFirstClickNeighbours(true);
+            ReplayRecorder recorder = new ReplayRecorder(game);
+            int cell = board.index(ROWS / 2, COLS / 2);
+            while (!game.isGameOver()) {
+                recorder.recordLeftClick(board.rowOf(cell), board.colOf(cell));
+                game.handleLeftClick(board.rowOf(cell), board.colOf(cell));
+                if (!game.isGameOver()) {
+                    SolverResult result = solver.solve(game);
+                    cell = result.getSafeCount() > 0 ? result.getSafeCell(0) : result.getGuessCell();
+                }
+            }
+            if (game.isGameWon()) {
+                won.add(recorder.finish());
+            }
+        }
+        replays = won.toArray(new Replay[0]);
+    }
+
+    @Benchmark
+    public ReplayPlayer.Verdict verify() {
+        Replay replay = replays[next];
+        next = next + 1 == replays.length ? 0 : next + 1;
+        return ReplayPlayer.verify(replay, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.minesweeper;
+
+import com.example.minesweeper.solver.MinesweeperSolver;
+import com.example.minesweeper.solver.SolverResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one {@link MinesweeperSolver#solve} call on an expert board (16x30, 99 mines).
+ * The setup plays a set of seeded games a few solver moves deep and keeps the ones still in progress,
+ * so each call sees a realistic mid-game frontier. Run with {@code -prof gc} to check that solving allocates nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    private static final int ROWS = 16;
+    private static final int COLS = 30;
+    private static final int MINES = 99;
+    private static final int POSITIONS = 64;
+
+    @Param({"1", "5", "15"})
+    private int movesPlayed;
+
+    private MinesweeperSolver solver;
+    private MinesweeperGame[] games;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void preparePositions() {
+        solver = new MinesweeperSolver(ROWS, COLS);
+        SplittableRandom seeds = new SplittableRandom(42);
+        List<MinesweeperGame> positions = new ArrayList<>();
+        while (positions.size() < POSITIONS) {
+            MinesweeperGame game = new MinesweeperGame(new Board(ROWS, COLS), MINES, seeds.nextLong());
+            game.setClearFirstClickNeighbours(true);
+            game.handleLeftClick(ROWS / 2, COLS / 2);
+            for (int move = 1; move < movesPlayed && !game.isGameOver(); move++) {
+                playMove(game);
+            }
+            if (!game.isGameOver()) {
+                positions.add(game);
+            }
+        }
+        games = positions.toArray(new MinesweeperGame[0]);
+    }
+
+    // Opens every cell the solver proves safe, or its best guess when there are none.
+    private void playMove(MinesweeperGame game) {
+        Board board = game.getBoard();
+        SolverResult result = solver.solve(game);
+        if (result.getSafeCount() == 0) {
+            int guess = result.getGuessCell();
+            game.handleLeftClick(board.rowOf(guess), board.colOf(guess));
+            return;
+        }
+        for (int i = 0; i < result.getSafeCount(); i++) {
+            int safe = result.getSafeCell(i);
+            if (!board.isOpen(safe)) {
+                game.handleLeftClick(board.rowOf(safe), board.colOf(safe));
+            }
+        }
+    }
+
+    @Benchmark
+    public SolverResult solve() {
+        MinesweeperGame game = games[next];
+        next = next + 1 == games.length ? 0 : next + 1;
+        return solver.solve(game);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.minesweeper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The `Board` class stores the logical state of every cell on the Minesweeper board
+ * in flat primitive structures instead of one object per cell.
+ * Cells are addressed by a row-major index (`row * cols + col`); mines and the
+ * open/flag/question marks live in bitsets and the neighbour counts in a byte array,
+ * so the whole board costs about 1.5 bytes per cell.
+ */
+public class Board {
+
+    private final int rows;
+    private final int cols;
+
+    private BitSet mines;             // Set bit = the cell contains a mine
+    private final BitSet open;        // Set bit = the cell has been opened by the player
+    private final BitSet flagged;     // Set bit = the cell is marked with a flag
+    private final BitSet questioned;  // Set bit = the cell is marked with a question mark
+    private byte[] minesAround;       // Number of mines in adjacent cells (0..8)
+
+    public Board(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Board size must be positive: " + rows + "x" + cols);
+        }
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board is too large: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int size = rows * cols;
+        this.mines = new BitSet(size);
+        this.open = new BitSet(size);
+        this.flagged = new BitSet(size);
+        this.questioned = new BitSet(size);
+        this.minesAround = new byte[size];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int size() {
+        return minesAround.length;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public boolean isMine(int index) {
+        return mines.get(index);
+    }
+
+    /** Returns the first mine at or after the given index, or -1 if there is none. */
+    public int nextMine(int fromIndex) {
+        return mines.nextSetBit(fromIndex);
+    }
+
+    public void setMine(int index, boolean mine) {
+        mines.set(index, mine);
+    }
+
+    public int getMinesAround(int index) {
+        return minesAround[index];
+    }
+
+    public void setMinesAround(int index, int count) {
+        minesAround[index] = (byte) count;
+    }
+
+    public void incrementMinesAround(int index) {
+        minesAround[index]++;
+    }
+
+    public void decrementMinesAround(int index) {
+        minesAround[index]--;
+    }
+
+    public boolean isOpen(int index) {
+        return open.get(index);
+    }
+
+    public void setOpen(int index, boolean isOpen) {
+        open.set(index, isOpen);
+    }
+
+    public boolean isFlagged(int index) {
+        return flagged.get(index);
+    }
+
+    public void setFlagged(int index, boolean isFlagged) {
+        flagged.set(index, isFlagged);
+        // If a cell is flagged, it cannot also be questioned.
+        if (isFlagged) {
+            questioned.clear(index);
+        }
+    }
+
+    public boolean isQuestioned(int index) {
+        return questioned.get(index);
+    }
+
+    public void setQuestioned(int index, boolean isQuestioned) {
+        questioned.set(index, isQuestioned);
+        // If a cell is questioned, it cannot also be flagged.
+        if (isQuestioned) {
+            flagged.clear(index);
+        }
+    }
+
+    /** Returns the visible state of a cell; open cells count as open even if they were marked. */
+    public CellState getState(int index) {
+        if (open.get(index)) {
+            return CellState.OPEN;
+        }
+        if (flagged.get(index)) {
+            return CellState.FLAGGED;
+        }
+        return questioned.get(index) ? CellState.QUESTIONED : CellState.CLOSED;
+    }
+
+    /**
+     * Puts a cell into a visible state, for undoing and redoing moves. Opening a cell keeps its marks,
+     * as opening does during play, so setting it back to its earlier state restores them exactly.
+     */
+    void setState(int index, CellState state) {
+        open.set(index, state == CellState.OPEN);
+        if (state != CellState.OPEN) {
+            flagged.set(index, state == CellState.FLAGGED);
+            questioned.set(index, state == CellState.QUESTIONED);
+        }
+    }
+
+    /** Returns the number of flags currently placed on the board. */
+    public int countFlags() {
+        return flagged.cardinality();
+    }
+
+    /**
+     * Swaps the mines and neighbour counts of this board with those of another board of the same size,
+     * so a layout built elsewhere can be taken over in O(1). Open cells and marks are not swapped.
+     */
+    void swapMines(Board other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("Cannot swap mines between a " + rows + "x" + cols
+                    + " and a " + other.rows + "x" + other.cols + " board");
+        }
+        BitSet otherMines = other.mines;
+        byte[] otherMinesAround = other.minesAround;
+        other.mines = mines;
+        other.minesAround = minesAround;
+        mines = otherMines;
+        minesAround = otherMinesAround;
+    }
+
+    /**
+     * Copies the mine, open, flag and question mark bitsets, in that order, as little-endian bytes
+     * without trailing zeros, for a {@link GameSnapshot}.
+     */
+    byte[][] copyBits() {
+        return new byte[][]{mines.toByteArray(), open.toByteArray(), flagged.toByteArray(), questioned.toByteArray()};
+    }
+
+    /**
+     * Replaces the mines and marks with bitsets copied by {@link #copyBits()}. Neighbour counts are left at zero.
+     */
+    void restoreBits(byte[] mineBits, byte[] openBits, byte[] flagBits, byte[] questionBits) {
+        clear();
+        mines.or(BitSet.valueOf(mineBits));
+        open.or(BitSet.valueOf(openBits));
+        flagged.or(BitSet.valueOf(flagBits));
+        questioned.or(BitSet.valueOf(questionBits));
+    }
+
+    /** Removes every mine and neighbour count, keeping open cells and the player's marks. */
+    void clearMines() {
+        mines.clear();
+        Arrays.fill(minesAround, (byte) 0);
+    }
+
+    /** Clears every cell back to a closed, unmarked, mine-free state. */
+    public void clear() {
+        mines.clear();
+        open.clear();
+        flagged.clear();
+        questioned.clear();
+        Arrays.fill(minesAround, (byte) 0);
+    }
+}
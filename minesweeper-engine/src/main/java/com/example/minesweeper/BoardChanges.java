@@ -0,0 +1,93 @@
+package com.example.minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The `BoardChanges` class collects the cells affected by a single player action,
+ * together with the state transition of each one, so the UI can repaint only what changed.
+ * Changes are kept in growable primitive arrays; one instance is reused by the game
+ * for every action and is only valid until the next action.
+ */
+public class BoardChanges {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] cells = new int[INITIAL_CAPACITY]; // Board indices of changed cells
+    private byte[] from = new byte[INITIAL_CAPACITY]; // CellState ordinal before the action
+    private byte[] to = new byte[INITIAL_CAPACITY];   // CellState ordinal after the action
+    private int size;
+    private int flagDelta;     // Change in the number of placed flags
+    private boolean gameEnded; // True if the action ended the game
+
+    void clear() {
+        size = 0;
+        flagDelta = 0;
+        gameEnded = false;
+    }
+
+    void add(int index, CellState before, CellState after) {
+        if (size == cells.length) {
+            int capacity = size * 2;
+            cells = Arrays.copyOf(cells, capacity);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+        }
+        cells[size] = index;
+        from[size] = (byte) before.ordinal();
+        to[size] = (byte) after.ordinal();
+        size++;
+        if (before == CellState.FLAGGED) {
+            flagDelta--;
+        }
+        if (after == CellState.FLAGGED) {
+            flagDelta++;
+        }
+    }
+
+    void markGameEnded() {
+        gameEnded = true;
+    }
+
+    /** Returns the number of changed cells. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns the board index of the i-th changed cell. */
+    public int cellAt(int i) {
+        checkIndex(i);
+        return cells[i];
+    }
+
+    /** Returns the state the i-th changed cell had before the action. */
+    public CellState fromState(int i) {
+        checkIndex(i);
+        return CellState.fromOrdinal(from[i]);
+    }
+
+    /** Returns the state the i-th changed cell has after the action. */
+    public CellState toState(int i) {
+        checkIndex(i);
+        return CellState.fromOrdinal(to[i]);
+    }
+
+    /** Returns how many flags were added (positive) or removed (negative) by the action. */
+    public int getFlagDelta() {
+        return flagDelta;
+    }
+
+    /** Returns true if the action won or lost the game, after which every cell changes its look. */
+    public boolean isGameEnded() {
+        return gameEnded;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Change " + i + " out of " + size);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+
+/**
+ * A `BoardId` is a short, shareable string that regenerates a board exactly.
+ * It encodes the board size, the mine count, the generator seed, the first clicked cell
+ * and whether the neighbours of that cell were kept clear, as unsigned varints
+ * in URL-safe Base64 (typically around 20 characters).
+ * <p>
+ * Version 1 IDs were generated by sampling mines around the first click;
+ * version 2 IDs sample them anywhere and then move the ones on the first click away.
+ * Both are still played back exactly.
+ */
+public final class BoardId {
+
+    /** Mines sampled around the known first click. */
+    public static final int VERSION_PLACED_AROUND_FIRST_CLICK = 1;
+    /** Mines sampled before the first click, then moved off the first click. */
+    public static final int VERSION_MOVED_FROM_FIRST_CLICK = 2;
+    private static final int CURRENT_VERSION = VERSION_MOVED_FROM_FIRST_CLICK;
+    private static final int FLAG_CLEAR_NEIGHBOURS = 1;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int version;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final long seed;
+    private final int firstClickRow;
+    private final int firstClickCol;
+    private final boolean clearFirstClickNeighbours;
+
+    public BoardId(int rows, int cols, int mines, long seed, int firstClickRow, int firstClickCol,
+                   boolean clearFirstClickNeighbours) {
+        this(CURRENT_VERSION, rows, cols, mines, seed, firstClickRow, firstClickCol, clearFirstClickNeighbours);
+    }
+
+    /**
+     * Creates an ID for a board generated by the given version of the mine placement.
+     */
+    public BoardId(int version, int rows, int cols, int mines, long seed, int firstClickRow, int firstClickCol,
+                   boolean clearFirstClickNeighbours) {
+        if (version != VERSION_PLACED_AROUND_FIRST_CLICK && version != VERSION_MOVED_FROM_FIRST_CLICK) {
+            throw new IllegalArgumentException("Unsupported board ID version: " + version);
+        }
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        if (mines < 0 || mines >= rows * cols) {
+            throw new IllegalArgumentException("Invalid mine count for a " + rows + "x" + cols + " board: " + mines);
+        }
+        if (firstClickRow < 0 || firstClickRow >= rows || firstClickCol < 0 || firstClickCol >= cols) {
+            throw new IllegalArgumentException("First click outside the board: " + firstClickRow + "," + firstClickCol);
+        }
+        this.version = version;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        this.firstClickRow = firstClickRow;
+        this.firstClickCol = firstClickCol;
+        this.clearFirstClickNeighbours = clearFirstClickNeighbours;
+    }
+
+    /**
+     * Parses an ID produced by {@link #toString()}.
+     * @throws IllegalArgumentException If the text is not a valid board ID.
+     */
+    public static BoardId parse(String text) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(text.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Not a board ID: " + text, e);
+        }
+        int[] position = {0};
+        long version = readVarLong(bytes, position);
+        if (version != VERSION_PLACED_AROUND_FIRST_CLICK && version != VERSION_MOVED_FROM_FIRST_CLICK) {
+            throw new IllegalArgumentException("Unsupported board ID version: " + text);
+        }
+        int rows = (int) readVarLong(bytes, position);
+        int cols = (int) readVarLong(bytes, position);
+        int mines = (int) readVarLong(bytes, position);
+        int firstClickRow = (int) readVarLong(bytes, position);
+        int firstClickCol = (int) readVarLong(bytes, position);
+        int flags = (int) readVarLong(bytes, position);
+        long seed = readVarLong(bytes, position);
+        if (position[0] != bytes.length) {
+            throw new IllegalArgumentException("Trailing data in board ID: " + text);
+        }
+        return new BoardId((int) version, rows, cols, mines, seed, firstClickRow, firstClickCol,
+                (flags & FLAG_CLEAR_NEIGHBOURS) != 0);
+    }
+
+    /** Returns the compact text form of this ID. */
+    @Override
+    public String toString() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(24);
+        writeVarLong(out, version);
+        writeVarLong(out, rows);
+        writeVarLong(out, cols);
+        writeVarLong(out, mines);
+        writeVarLong(out, firstClickRow);
+        writeVarLong(out, firstClickCol);
+        writeVarLong(out, clearFirstClickNeighbours ? FLAG_CLEAR_NEIGHBOURS : 0);
+        writeVarLong(out, seed);
+        return ENCODER.encodeToString(out.toByteArray());
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated board ID");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed board ID");
+    }
+
+    /** Returns the version of the mine placement that generated this board. */
+    public int getVersion() {
+        return version;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getFirstClickRow() {
+        return firstClickRow;
+    }
+
+    public int getFirstClickCol() {
+        return firstClickCol;
+    }
+
+    public boolean isClearFirstClickNeighbours() {
+        return clearFirstClickNeighbours;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardId)) {
+            return false;
+        }
+        BoardId other = (BoardId) o;
+        return version == other.version && rows == other.rows && cols == other.cols && mines == other.mines && seed == other.seed
+                && firstClickRow == other.firstClickRow && firstClickCol == other.firstClickCol
+                && clearFirstClickNeighbours == other.clearFirstClickNeighbours;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + rows * 17 + cols * 13 + mines * 7 + firstClickRow * 5 + firstClickCol * 3
+                + (clearFirstClickNeighbours ? 1 : 0) + version * 11;
+    }
+}
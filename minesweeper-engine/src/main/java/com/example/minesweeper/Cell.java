@@ -0,0 +1,84 @@
+package com.example.minesweeper;
+
+/**
+ * The `Cell` class is a thin view of a single cell on the Minesweeper game board.
+ * Its logical state (mine, number, opened, flagged, questioned) lives in the shared {@link Board};
+ * the view only remembers its coordinates. It has no UI dependency, so it can be used headless;
+ * the user interface keeps its own Button for each cell.
+ */
+public class Cell {
+
+    // --- Position of the Cell on the Board ---
+    private final Board board;     // The board holding the logical state of this cell
+    private final int row;         // The row index of the cell
+    private final int col;         // The column index of the cell
+    private final int index;       // The row-major index of the cell in the board
+
+    public Cell(Board board, int row, int col) {
+        this.board = board;
+        this.row = row;
+        this.col = col;
+        this.index = board.index(row, col);
+    }
+
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isMine() {
+        return board.isMine(index);
+    }
+
+    public void setMine(boolean mine) {
+        board.setMine(index, mine);
+    }
+
+    public int getMinesAround() {
+        return board.getMinesAround(index);
+    }
+
+    public void setMinesAround(int minesAround) {
+        board.setMinesAround(index, minesAround);
+    }
+
+    public boolean isOpen() {
+        return board.isOpen(index);
+    }
+
+    public void setOpen(boolean open) {
+        board.setOpen(index, open);
+    }
+
+    public boolean isFlagged() {
+        return board.isFlagged(index);
+    }
+
+    public void setFlagged(boolean flagged) {
+        board.setFlagged(index, flagged);
+    }
+
+    public boolean isQuestioned() {
+        return board.isQuestioned(index);
+    }
+
+    public void setQuestioned(boolean questioned) {
+        board.setQuestioned(index, questioned);
+    }
+
+    public void reset() {
+        board.setMine(index, false);
+        board.setMinesAround(index, 0);
+        board.setOpen(index, false);
+        board.setFlagged(index, false);
+        board.setQuestioned(index, false);
+    }
+}
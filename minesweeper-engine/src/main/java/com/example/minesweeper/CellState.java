@@ -0,0 +1,18 @@
+package com.example.minesweeper;
+
+/**
+ * The visible state of a single cell, as the player sees it.
+ */
+public enum CellState {
+    CLOSED,     // Not opened and not marked
+    FLAGGED,    // Marked with a flag
+    QUESTIONED, // Marked with a question mark
+    OPEN;       // Opened by the player (or revealed at the end of the game)
+
+    private static final CellState[] VALUES = values();
+
+    /** Returns the state with the given ordinal without allocating a new values() array. */
+    public static CellState fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.minesweeper;
+
+import com.example.minesweeper.metrics.GameMetrics;
+import com.example.minesweeper.replay.Replay;
+import com.example.minesweeper.replay.ReplayStore;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps the best record per player and difficulty in a {@link Leaderboard} and persists them.
+ * The store is picked with {@code -Dminesweeper.records.store}:
+ * <ul>
+ *     <li>{@code log} (default): records are indexed in memory ({@link IndexedLeaderboard}) and each change
+ *     is appended to a log next to the JSON file ({@link LogRecordStore}).</li>
+ *     <li>{@code json}: as above, but the whole JSON file is rewritten on every save.</li>
+ *     <li>{@code mapped}: records live in memory-mapped binary files ({@link MappedRecordStore}) and are
+ *     queried in place, so startup does not depend on the number of records. The JSON records are copied
+ *     in once, the first time, and the JSON file is left as it was.</li>
+ * </ul>
+ * Player names and difficulties are matched ignoring case.
+ * <p>
+ * A record can be saved with the {@link Replay} of its game. Replays are kept in {@value #REPLAY_DIRECTORY}
+ * next to the records, and only while a record links to them; the {@code mapped} store cannot link them.
+ * <p>
+ * All disk access happens on a single background thread. Records start loading as soon as the instance
+ * is created, and every change is made on that thread too. Changes are queued and written as one batch
+ * {@value #WRITE_DELAY_MS} ms after the first of them, or on {@link #flush()} and {@link #close()}.
+ * Calls run on that thread in the order they were made, after loading. The {@code ...Async} methods never
+ * block the calling thread; the UI must use them.
+ * The other methods wait for loading and for their result, for headless use.
+ * <p>
+ * Adding a record and writing a batch are timed by {@link GameMetrics} when metrics are enabled.
+ */
+public class DataManager {
+    private static final Logger LOGGER = System.getLogger(DataManager.class.getName());
+    /** Delay in milliseconds between a change and the write of the batch it is queued in. */
+    public static final long WRITE_DELAY_MS = 500;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final String DATA_FILE_PATH = "minesweeper_records.json";
+    private static final String MAPPED_FILE_BASE = "minesweeper_records";
+    private static final String STORE_PROPERTY = "minesweeper.records.store";
+    private static final String REPLAY_DIRECTORY = "minesweeper_replays";
+    private static DataManager instance; // Singleton instance
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "records-io");
+        thread.setDaemon(true); // close() writes what is queued
+        return thread;
+    });
+    private final CompletableFuture<Void> loaded;
+    private final ReplayStore replays;
+    private final List<GameRecord> pendingWrites = new ArrayList<>(); // Only used on the I/O thread
+    private boolean writeScheduled; // Only used on the I/O thread
+    private Leaderboard leaderboard; // Set by the loading task; reads and changes hold the lock on this
+    private RecordStore store; // Null if the leaderboard persists itself
+
+    // Package-private so the benchmarks can run against a synthetic store.
+    DataManager(RecordStore store) {
+        this(store, new ReplayStore(Path.of(REPLAY_DIRECTORY)));
+    }
+
+    // Package-private so the tests can watch which thread touches the stores.
+    DataManager(RecordStore store, ReplayStore replays) {
+        this.store = store;
+        this.replays = replays;
+        this.loaded = CompletableFuture.runAsync(() -> load(this::loadRecords), io);
+    }
+
+    private DataManager(String mode) {
+        this.replays = new ReplayStore(Path.of(REPLAY_DIRECTORY));
+        this.loaded = CompletableFuture.runAsync(() -> load(() -> open(mode)), io);
+    }
+
+    /**
+     * Returns the data manager, creating it and starting to load the records in the background on first use.
+     */
+    public static synchronized DataManager getInstance() {
+        if (instance == null) {
+            instance = new DataManager(System.getProperty(STORE_PROPERTY, "log"));
+        }
+        return instance;
+    }
+
+    private void load(Runnable loader) {
+        try {
+            loader.run();
+        } catch (RuntimeException e) {
+            // Start empty, and do not save over records that could not be read.
+            LOGGER.log(Level.ERROR, "Error loading records, they will not be saved this session: " + e);
+            synchronized (this) {
+                leaderboard = new IndexedLeaderboard();
+                store = null;
+            }
+        }
+    }
+
+    private void open(String mode) {
+        if ("mapped".equalsIgnoreCase(mode)) {
+            try {
+                leaderboard = openMappedStore();
+                return;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error opening binary records, using the log instead: " + e.getMessage());
+            }
+        }
+        store = "json".equalsIgnoreCase(mode) ? new JsonRecordStore(DATA_FILE_PATH) : new LogRecordStore(DATA_FILE_PATH);
+        loadRecords();
+    }
+
+    private static MappedRecordStore openMappedStore() throws IOException {
+        MappedRecordStore mapped = MappedRecordStore.open(Path.of(MAPPED_FILE_BASE));
+        if (!mapped.isImportPending()) {
+            return mapped;
+        }
+        // Until the copy is marked complete it runs again on every start; records already copied stay unchanged.
+        LogRecordStore json = new LogRecordStore(DATA_FILE_PATH);
+        try {
+            int imported = mapped.importRecords(json);
+            mapped.markImported();
+            if (imported > 0) {
+                LOGGER.log(Level.INFO, "Copied " + imported + " records from " + DATA_FILE_PATH + " to binary records");
+            }
+        } catch (IOException | RuntimeException e) {
+            mapped.close();
+            throw e;
+        } finally {
+            json.close();
+        }
+        return mapped;
+    }
+
+    private void loadRecords() {
+        // The store may return older and repeated records; the leaderboard keeps only the best one of each.
+        Leaderboard loadedRecords = new IndexedLeaderboard();
+        store.load(loadedRecords::add); // Indexed as they are read
+        synchronized (this) {
+            leaderboard = loadedRecords;
+        }
+    }
+
+    /**
+     * Adds a record after loading and every earlier call, and queues it to be saved if it is new or better.
+     * @return The effect on the leaderboard.
+     */
+    public CompletableFuture<Leaderboard.AddResult> addRecordAsync(GameRecord newRecord) {
+        long start = GameMetrics.start();
+        return CompletableFuture.supplyAsync(() -> applyRecord(newRecord, start), io);
+    }
+
+    /**
+     * Adds a record with the replay of its game. If the record is new or better, the replay is saved and
+     * linked from it, and the replay of the record it replaces is deleted; otherwise the replay is dropped.
+     * @param replay The replay, or null to add the record without one.
+     * @return The effect on the leaderboard.
+     */
+    public CompletableFuture<Leaderboard.AddResult> addRecordAsync(GameRecord newRecord, Replay replay) {
+        if (replay == null) {
+            return addRecordAsync(newRecord);
+        }
+        long start = GameMetrics.start();
+        return CompletableFuture.supplyAsync(() -> {
+            GameRecord previous;
+            synchronized (this) {
+                if (!leaderboard.keepsReplayIds()) {
+                    return applyRecord(newRecord, start);
+                }
+                previous = leaderboard.getPlayerBestRecord(newRecord.getPlayerName(), newRecord.getDifficulty());
+            }
+            if (previous != null && previous.getTimeInMillis() <= newRecord.getTimeInMillis()) {
+                return applyRecord(newRecord, start); // Not better, so the replay would not be linked
+            }
+            try {
+                newRecord.setReplayId(replays.save(replay));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not save replay: " + e.getMessage()); // Keep the record without it
+            }
+            Leaderboard.AddResult result = applyRecord(newRecord, start);
+            String unlinked = result == Leaderboard.AddResult.UNCHANGED ? newRecord.getReplayId()
+                    : previous != null ? previous.getReplayId() : null;
+            if (unlinked != null) {
+                deleteReplay(unlinked);
+            }
+            return result;
+        }, io);
+    }
+
+    private void deleteReplay(String replayId) {
+        try {
+            replays.delete(replayId);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not delete replay " + replayId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the replay a record links to.
+     * @return The replay, or null if the record has none. Fails with the read error if it cannot be read.
+     */
+    public CompletableFuture<Replay> getReplayAsync(GameRecord record) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (record.getReplayId() == null) {
+                return null;
+            }
+            try {
+                return replays.load(record.getReplayId());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read replay " + record.getReplayId() + ": " + e.getMessage(), e);
+            }
+        }, io);
+    }
+
+    /**
+     * Adds a record, waiting until it is in the leaderboard. Saving still happens in the background.
+     */
+    public void addRecord(GameRecord newRecord) {
+        addRecordAsync(newRecord).join();
+    }
+
+    // Runs on the I/O thread, so changes never overlap a store reading the records.
+    // Start is when the record was handed in, so the time includes waiting for loading and earlier calls.
+    private Leaderboard.AddResult applyRecord(GameRecord newRecord, long start) {
+        Leaderboard.AddResult result;
+        try {
+            result = mergeRecord(newRecord);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            LOGGER.log(Level.ERROR, "Error saving record: " + e.getMessage());
+            return Leaderboard.AddResult.UNCHANGED;
+        }
+        GameMetrics.recordSave(start, newRecord.getDifficulty(), result.name());
+        return result;
+    }
+
+    // Runs on the I/O thread. Adds a record and queues it to be saved if it changed the leaderboard.
+    private Leaderboard.AddResult mergeRecord(GameRecord newRecord) {
+        Leaderboard.AddResult result;
+        synchronized (this) {
+            result = leaderboard.add(newRecord);
+        }
+        if (result == Leaderboard.AddResult.UNCHANGED) {
+            return result; // Nothing changed, so nothing to save
+        }
+        pendingWrites.add(newRecord);
+        if (!writeScheduled) {
+            writeScheduled = true;
+            io.schedule(this::writePending, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Merges the records of an exported file into this leaderboard, reading it as a stream.
+     * A player's record is only replaced by a better time, so importing the same file again changes nothing.
+     * @return The number of records that were added or improved. Fails with the read error if the file
+     *         cannot be read; records merged before the error are kept.
+     */
+    public CompletableFuture<Integer> importRecordsAsync(Path path) {
+        return CompletableFuture.supplyAsync(() -> {
+            int[] changed = {0}; // Updated from the consumer
+            int[] read = {0};
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                // One batch, so a mapped leaderboard ranks the records once at the end. The lock is taken before
+                // the leaderboard's own, as every reader takes them, and keeps readers out until it is ranked.
+                synchronized (this) {
+                    leaderboard.addBatch(() -> read[0] = RecordJson.read(reader, record -> {
+                        try {
+                            if (mergeRecord(record) != Leaderboard.AddResult.UNCHANGED) {
+                                changed[0]++;
+                            }
+                        } catch (IllegalArgumentException e) {
+                            LOGGER.log(Level.WARNING, "Skipping record: " + e.getMessage());
+                        }
+                    }));
+                }
+                LOGGER.log(Level.INFO, "Imported " + read[0] + " records from " + path + ", " + changed[0] + " new or better");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not import records from " + path + ": " + e.getMessage(), e);
+            }
+            return changed[0];
+        }, io);
+    }
+
+    /**
+     * Writes every record to a file as a stream, in the format {@link #importRecordsAsync(Path)} reads,
+     * for moving a leaderboard to another install.
+     * @return The number of records written.
+     */
+    public CompletableFuture<Integer> exportRecordsAsync(Path path) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                int written = RecordJson.write(writer, leaderboard.records()); // Changes only happen on this thread
+                LOGGER.log(Level.INFO, "Exported " + written + " records to " + path);
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not export records to " + path + ": " + e.getMessage(), e);
+            }
+        }, io);
+    }
+
+    // Runs on the I/O thread.
+    private void writePending() {
+        writeScheduled = false;
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        long start = GameMetrics.start();
+        List<GameRecord> batch = new ArrayList<>(pendingWrites);
+        pendingWrites.clear();
+        if (store != null) {
+            store.save(batch, leaderboard.records());
+        }
+        leaderboard.flush();
+        GameMetrics.recordWrite(start, batch.size());
+    }
+
+    /**
+     * Writes every queued change now.
+     * @return A future completed once the changes are saved.
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(this::writePending, io);
+    }
+
+    /**
+     * Returns the fastest records for a difficulty, best first, once loading has finished.
+     */
+    public CompletableFuture<List<GameRecord>> getBestRecordsAsync(String difficulty, int limit) {
+        return CompletableFuture.supplyAsync(() -> getBestRecords(difficulty, limit), io);
+    }
+
+    /**
+     * Returns the fastest records for a difficulty, best first, waiting for loading to finish.
+     */
+    public List<GameRecord> getBestRecords(String difficulty, int limit) {
+        loaded.join();
+        synchronized (this) {
+            return leaderboard.getBestRecords(difficulty, limit);
+        }
+    }
+
+    /**
+     * Returns a page of a difficulty's records, best first, once loading has finished.
+     * @param after The last record of the previous page, or null for the first page.
+     */
+    public CompletableFuture<List<GameRecord>> getRecordsAfterAsync(String difficulty, GameRecord after, int limit) {
+        return CompletableFuture.supplyAsync(() -> getRecordsAfter(difficulty, after, limit), io);
+    }
+
+    /**
+     * Returns a page of a difficulty's records, best first, waiting for loading to finish.
+     * @param after The last record of the previous page, or null for the first page.
+     */
+    public List<GameRecord> getRecordsAfter(String difficulty, GameRecord after, int limit) {
+        loaded.join();
+        synchronized (this) {
+            return leaderboard.getRecordsAfter(difficulty, after, limit);
+        }
+    }
+
+    /**
+     * Returns a player's record for a difficulty, or null, once loading has finished.
+     */
+    public CompletableFuture<GameRecord> getPlayerBestRecordAsync(String playerName, String difficulty) {
+        return CompletableFuture.supplyAsync(() -> getPlayerBestRecord(playerName, difficulty), io);
+    }
+
+    public GameRecord getPlayerBestRecord(String playerName, String difficulty) {
+        loaded.join();
+        synchronized (this) {
+            return leaderboard.getPlayerBestRecord(playerName, difficulty);
+        }
+    }
+
+    /** Returns the number of records, one per player and difficulty, waiting for loading to finish. */
+    public int getRecordCount() {
+        loaded.join();
+        synchronized (this) {
+            return leaderboard.size();
+        }
+    }
+
+    /**
+     * Writes every queued change and lets the store finish any background work, such as writing a snapshot.
+     * Waits up to {@value #CLOSE_TIMEOUT_SECONDS} seconds. Call once on exit.
+     */
+    public void close() {
+        try {
+            CompletableFuture.runAsync(() -> {
+                writePending();
+                if (store != null) {
+                    store.close();
+                }
+                leaderboard.close();
+            }, io).get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.ERROR, "Could not save records on exit: " + e);
+        }
+        io.shutdownNow();
+    }
+}
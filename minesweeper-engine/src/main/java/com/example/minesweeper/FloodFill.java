@@ -0,0 +1,84 @@
+package com.example.minesweeper;
+
+/**
+ * The `FloodFill` class opens a cell and, if it is blank, the whole connected
+ * blank region around it together with its numbered border.
+ * It replaces one recursive call per opened cell with an explicit work queue of
+ * board indices that is allocated once per board, so large empty regions can never
+ * overflow the stack and no garbage is produced while filling.
+ * The queue doubles as the list of cells opened by the last {@link #fill(int, int)} call.
+ */
+public class FloodFill {
+
+    private final Board board;
+    private final int[] queue; // Board indices of opened cells, in the order they were opened
+    private int openedCount;   // Number of valid entries in the queue
+
+    public FloodFill(Board board) {
+        this.board = board;
+        this.queue = new int[board.size()]; // Every cell is enqueued at most once per fill
+    }
+
+    /**
+     * Opens the cell at the given position and everything the classic recursive
+     * flood fill would open from it: the fill stops at cells that are out of bounds,
+     * already open, flagged or mined, and only spreads from cells with no adjacent mines.
+     * @param row The row of the starting cell.
+     * @param col The column of the starting cell.
+     * @return The number of cells opened; they can be read with {@link #openedCell(int)}.
+     */
+    public int fill(int row, int col) {
+        openedCount = 0;
+        if (!board.contains(row, col)) {
+            return 0;
+        }
+        tryOpen(board.index(row, col));
+
+        int rows = board.getRows();
+        int cols = board.getCols();
+        // Cells are marked open as soon as they are queued, so each one is visited once.
+        for (int head = 0; head < openedCount; head++) {
+            int index = queue[head];
+            if (board.getMinesAround(index) != 0) {
+                continue; // Numbered cells form the border of the region
+            }
+            int r = board.rowOf(index);
+            int c = board.colOf(index);
+            int rowStart = Math.max(r - 1, 0);
+            int rowEnd = Math.min(r + 1, rows - 1);
+            int colStart = Math.max(c - 1, 0);
+            int colEnd = Math.min(c + 1, cols - 1);
+            for (int nr = rowStart; nr <= rowEnd; nr++) {
+                int rowOffset = nr * cols;
+                for (int nc = colStart; nc <= colEnd; nc++) {
+                    tryOpen(rowOffset + nc); // The cell itself is already open and is skipped
+                }
+            }
+        }
+        return openedCount;
+    }
+
+    private void tryOpen(int index) {
+        if (board.isOpen(index) || board.isFlagged(index) || board.isMine(index)) {
+            return;
+        }
+        board.setOpen(index, true);
+        queue[openedCount++] = index;
+    }
+
+    /** Returns the number of cells opened by the last fill. */
+    public int getOpenedCount() {
+        return openedCount;
+    }
+
+    /**
+     * Returns the board index of a cell opened by the last fill.
+     * @param i A position between 0 (the starting cell) and {@link #getOpenedCount()} - 1.
+     */
+    public int openedCell(int i) {
+        if (i < 0 || i >= openedCount) {
+            throw new IndexOutOfBoundsException("Opened cell " + i + " out of " + openedCount);
+        }
+        return queue[i];
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.minesweeper;
+
+import java.util.ArrayDeque;
+
+/**
+ * The `GameHistory` gives a {@link MinesweeperGame} many levels of undo and redo, for practice and analysis.
+ * Instead of copying the board on every move, it keeps only what each move changed: the cells it opened or
+ * marked with their states before and after, taken from the move's {@link BoardChanges}, and the game's counters.
+ * Undoing or redoing a move therefore costs O(cells changed by the move), and the history as a whole costs
+ * about five bytes per changed cell.
+ * <p>
+ * The history is bounded by a number of moves and a number of recorded cells; once either is exceeded,
+ * the oldest moves are dropped. Undo stops at the first click, which placed the mines.
+ * Clicks must go through {@link #handleLeftClick} and {@link #handleRightClick} to be recorded,
+ * and {@link #clear()} must be called when the game is reset. Must be used from the thread that plays the game.
+ */
+public class GameHistory {
+
+    /** Moves kept by default. */
+    public static final int DEFAULT_MAX_MOVES = 10_000;
+
+    /** Changed cells kept by default, about 5 MB. */
+    public static final int DEFAULT_MAX_CELLS = 1 << 20;
+
+    private final MinesweeperGame game;
+    private final Board board;
+    private final int maxMoves;
+    private final long maxCells;
+    private final ArrayDeque<Move> undoMoves = new ArrayDeque<>(); // Newest last
+    private final ArrayDeque<Move> redoMoves = new ArrayDeque<>(); // Next to redo last
+    private long recordedCells; // Cells in both stacks
+
+    public GameHistory(MinesweeperGame game) {
+        this(game, DEFAULT_MAX_MOVES, DEFAULT_MAX_CELLS);
+    }
+
+    /**
+     * @param maxMoves The most moves kept for undo and redo together.
+     * @param maxCells The most changed cells kept; the newest move is kept even if it alone is larger.
+     */
+    public GameHistory(MinesweeperGame game, int maxMoves, long maxCells) {
+        if (maxMoves <= 0 || maxCells <= 0) {
+            throw new IllegalArgumentException("History limits must be positive: " + maxMoves + " moves, "
+                    + maxCells + " cells");
+        }
+        this.game = game;
+        this.board = game.getBoard();
+        this.maxMoves = maxMoves;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Passes a left click to the game and records what it changed.
+     * @return The cells changed by the click; the instance is reused by the game's next action.
+     */
+    public BoardChanges handleLeftClick(int row, int col) {
+        boolean firstClick = game.isFirstClick();
+        Progress before = new Progress(game);
+        BoardChanges changes = game.handleLeftClick(row, col);
+        if (firstClick) {
+            clear(); // The mines were placed around this click, so there is nothing before it to go back to
+        } else {
+            record(changes, before);
+        }
+        return changes;
+    }
+
+    /**
+     * Passes a right click to the game and records what it changed.
+     * @return The cell changed by the click; the instance is reused by the game's next action.
+     */
+    public BoardChanges handleRightClick(int row, int col) {
+        Progress before = new Progress(game);
+        BoardChanges changes = game.handleRightClick(row, col);
+        record(changes, before);
+        return changes;
+    }
+
+    private void record(BoardChanges changes, Progress before) {
+        if (changes.isEmpty()) {
+            return; // Ignored clicks are not moves and keep what can be redone
+        }
+        recordedCells -= countCells(redoMoves);
+        redoMoves.clear(); // A new move replaces the undone ones
+        Move move = new Move(changes, before, new Progress(game));
+        undoMoves.addLast(move);
+        recordedCells += move.cells.length;
+        while (undoMoves.size() > 1 && (undoMoves.size() > maxMoves || recordedCells > maxCells)) {
+            recordedCells -= undoMoves.removeFirst().cells.length; // Evict the oldest moves
+        }
+    }
+
+    private static long countCells(ArrayDeque<Move> moves) {
+        long cells = 0;
+        for (Move move : moves) {
+            cells += move.cells.length;
+        }
+        return cells;
+    }
+
+    /**
+     * Takes back the last move.
+     * @return The cells changed by the undo, or null if there is nothing to undo; the instance is reused by
+     * the game's next action. The change set is marked as ending the game when the move had ended it.
+     */
+    public BoardChanges undo() {
+        Move move = undoMoves.pollLast();
+        if (move == null) {
+            return null;
+        }
+        redoMoves.addLast(move);
+        BoardChanges changes = game.clearChanges();
+        for (int i = move.cells.length - 1; i >= 0; i--) {
+            setState(changes, move.cells[i], CellState.fromOrdinal(move.states[i] >> 2));
+        }
+        move.before.restore(game);
+        if (move.after.gameOver) {
+            changes.markGameEnded(); // Every revealed mine closes again, so the whole board changes its look
+        }
+        return changes;
+    }
+
+    /**
+     * Makes the last undone move again.
+     * @return The cells changed by the redo, or null if there is nothing to redo; the instance is reused by
+     * the game's next action.
+     */
+    public BoardChanges redo() {
+        Move move = redoMoves.pollLast();
+        if (move == null) {
+            return null;
+        }
+        undoMoves.addLast(move);
+        BoardChanges changes = game.clearChanges();
+        for (int i = 0; i < move.cells.length; i++) {
+            setState(changes, move.cells[i], CellState.fromOrdinal(move.states[i] & 3));
+        }
+        move.after.restore(game);
+        if (move.after.gameOver) {
+            changes.markGameEnded();
+        }
+        return changes;
+    }
+
+    private void setState(BoardChanges changes, int index, CellState state) {
+        changes.add(index, board.getState(index), state);
+        board.setState(index, state);
+    }
+
+    /** Forgets every move, for example after the game is reset. */
+    public void clear() {
+        undoMoves.clear();
+        redoMoves.clear();
+        recordedCells = 0;
+    }
+
+    public boolean canUndo() {
+        return !undoMoves.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoMoves.isEmpty();
+    }
+
+    /** Returns the number of moves that can be undone. */
+    public int getUndoCount() {
+        return undoMoves.size();
+    }
+
+    /** Returns the number of moves that can be redone. */
+    public int getRedoCount() {
+        return redoMoves.size();
+    }
+
+    /** Returns the number of changed cells kept for undo and redo. */
+    public long getRecordedCells() {
+        return recordedCells;
+    }
+
+    /** The game's counters and end state around a move. */
+    private static final class Progress {
+        private final int cellsOpen;
+        private final int flagsPlaced;
+        private final boolean gameOver;
+        private final boolean gameWon;
+
+        Progress(MinesweeperGame game) {
+            this.cellsOpen = game.getCellsOpen();
+            this.flagsPlaced = game.getFlagCount();
+            this.gameOver = game.isGameOver();
+            this.gameWon = game.isGameWon();
+        }
+
+        void restore(MinesweeperGame game) {
+            game.restoreProgress(cellsOpen, flagsPlaced, gameOver, gameWon);
+        }
+    }
+
+    /** One recorded move: the cells it changed, each with its state before and after. */
+    private static final class Move {
+        private final int[] cells;
+        private final byte[] states; // Ordinal before << 2 | ordinal after
+        private final Progress before;
+        private final Progress after;
+
+        Move(BoardChanges changes, Progress before, Progress after) {
+            int size = changes.size();
+            this.cells = new int[size];
+            this.states = new byte[size];
+            for (int i = 0; i < size; i++) {
+                cells[i] = changes.cellAt(i);
+                states[i] = (byte) (changes.fromState(i).ordinal() << 2 | changes.toState(i).ordinal());
+            }
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.minesweeper;
+
+import java.util.Locale;
+
+
+public class GameRecord {
+    private String playerName;
+    private String difficulty; // "Easy", "Medium", "Hard"
+    private int timeInSeconds; // Whole seconds, still written for older versions that only read this
+    private int timeInMillis; // 0 in records saved before times were kept in milliseconds
+    private String replayId; // The replay of the game in the replay store, or null
+
+    public GameRecord(String playerName, String difficulty, int timeInSeconds) {
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        setTimeInSeconds(timeInSeconds);
+    }
+
+    /**
+     * Creates a record with a time in milliseconds, so records within the same second are still ranked.
+     */
+    public static GameRecord ofMillis(String playerName, String difficulty, int timeInMillis) {
+        GameRecord record = new GameRecord(playerName, difficulty, 0);
+        record.setTimeInMillis(timeInMillis);
+        return record;
+    }
+
+    /** Formats a time in milliseconds as seconds with three decimals, such as {@code 12.345}. */
+    public static String formatTime(int timeInMillis) {
+        return String.format(Locale.ROOT, "%d.%03d", timeInMillis / 1000, timeInMillis % 1000);
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public int getTimeInSeconds() {
+        return timeInSeconds;
+    }
+
+    /** Returns the time in milliseconds; records saved in whole seconds count as the start of their second. */
+    public int getTimeInMillis() {
+        return timeInMillis > 0 ? timeInMillis : timeInSeconds * 1000;
+    }
+
+    /** Returns the ID of the game's replay in the {@link com.example.minesweeper.replay.ReplayStore}, or null. */
+    public String getReplayId() {
+        return replayId;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public void setTimeInSeconds(int timeInSeconds) {
+        this.timeInSeconds = timeInSeconds;
+        this.timeInMillis = timeInSeconds * 1000;
+    }
+
+    public void setTimeInMillis(int timeInMillis) {
+        this.timeInMillis = timeInMillis;
+        this.timeInSeconds = timeInMillis / 1000;
+    }
+
+    public void setReplayId(String replayId) {
+        this.replayId = replayId;
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord{" +
+                "playerName='" + playerName + '\'' +
+                ", difficulty='" + difficulty + '\'' +
+                ", timeInMillis=" + getTimeInMillis() +
+                (replayId != null ? ", replayId='" + replayId + '\'' : "") +
+                '}';
+    }
+}
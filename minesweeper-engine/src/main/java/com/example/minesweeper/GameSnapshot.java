@@ -0,0 +1,254 @@
+package com.example.minesweeper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A `GameSnapshot` is the full state of a {@link MinesweeperGame} at one moment, so a game can be
+ * saved and resumed later, or handed to a bot or another machine. The board's mine, open, flag and
+ * question mark bitsets are copied as they are, trailing zeros dropped, so a snapshot costs at most
+ * four bits per cell plus a small header; neighbour counts are rebuilt from the mines on restore.
+ * <p>
+ * Snapshots are immutable. Take one with {@link MinesweeperGame#snapshot(long)} and restore it with
+ * {@link MinesweeperGame#restore(GameSnapshot)}; both cost O(board / 8) bytes of copying plus O(mines).
+ */
+public final class GameSnapshot {
+
+    private static final int MAGIC = 0x4D53534E; // "MSSN"
+    private static final int VERSION = 1;
+
+    private static final int FIRST_CLICK = 1;
+    private static final int GAME_OVER = 2;
+    private static final int GAME_WON = 4;
+    private static final int CLEAR_NEIGHBOURS = 8;
+    private static final int PLACED_WITH_CLEAR_NEIGHBOURS = 16;
+
+    final int rows;
+    final int cols;
+    final int totalMines;
+    final long seed;
+    final int placementVersion;
+    final int flags;
+    final int firstClickRow;
+    final int firstClickCol;
+    final int cellsOpen;
+    final long elapsedNanos;
+    final byte[] mines;
+    final byte[] open;
+    final byte[] flagged;
+    final byte[] questioned;
+    private final String playerName;
+    private final String difficulty;
+
+    GameSnapshot(int rows, int cols, int totalMines, long seed, int placementVersion, boolean firstClick,
+                 boolean gameOver, boolean gameWon, boolean clearNeighbours, boolean placedWithClearNeighbours,
+                 int firstClickRow, int firstClickCol, int cellsOpen, long elapsedNanos, byte[][] bits,
+                 String playerName, String difficulty) {
+        this(rows, cols, totalMines, seed, placementVersion,
+                (firstClick ? FIRST_CLICK : 0) | (gameOver ? GAME_OVER : 0) | (gameWon ? GAME_WON : 0)
+                        | (clearNeighbours ? CLEAR_NEIGHBOURS : 0)
+                        | (placedWithClearNeighbours ? PLACED_WITH_CLEAR_NEIGHBOURS : 0),
+                firstClickRow, firstClickCol, cellsOpen, elapsedNanos, bits[0], bits[1], bits[2], bits[3],
+                playerName, difficulty);
+    }
+
+    private GameSnapshot(int rows, int cols, int totalMines, long seed, int placementVersion, int flags,
+                         int firstClickRow, int firstClickCol, int cellsOpen, long elapsedNanos,
+                         byte[] mines, byte[] open, byte[] flagged, byte[] questioned,
+                         String playerName, String difficulty) {
+        this.rows = rows;
+        this.cols = cols;
+        this.totalMines = totalMines;
+        this.seed = seed;
+        this.placementVersion = placementVersion;
+        this.flags = flags;
+        this.firstClickRow = firstClickRow;
+        this.firstClickCol = firstClickCol;
+        this.cellsOpen = cellsOpen;
+        this.elapsedNanos = elapsedNanos;
+        this.mines = mines;
+        this.open = open;
+        this.flagged = flagged;
+        this.questioned = questioned;
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Returns a copy of this snapshot that also names who was playing and on which difficulty,
+     * so a resumed win can go to the right leaderboard.
+     */
+    public GameSnapshot withPlayer(String playerName, String difficulty) {
+        return new GameSnapshot(rows, cols, totalMines, seed, placementVersion, flags, firstClickRow, firstClickCol,
+                cellsOpen, elapsedNanos, mines, open, flagged, questioned, playerName, difficulty);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getTotalMines() {
+        return totalMines;
+    }
+
+    /** Returns the time played before the snapshot was taken, in nanoseconds. */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isGameOver() {
+        return (flags & GAME_OVER) != 0;
+    }
+
+    /** Returns the player the game was saved for, or null. */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /** Returns the difficulty the game was saved for, or null. */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    private boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    boolean isFirstClick() {
+        return has(FIRST_CLICK);
+    }
+
+    boolean isGameWon() {
+        return has(GAME_WON);
+    }
+
+    boolean isClearFirstClickNeighbours() {
+        return has(CLEAR_NEIGHBOURS);
+    }
+
+    boolean isPlacedWithClearNeighbours() {
+        return has(PLACED_WITH_CLEAR_NEIGHBOURS);
+    }
+
+    /**
+     * Encodes this snapshot.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                64 + mines.length + open.length + flagged.length + questioned.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(totalMines);
+            out.writeLong(seed);
+            out.writeByte(placementVersion);
+            out.writeByte(flags);
+            out.writeInt(firstClickRow);
+            out.writeInt(firstClickCol);
+            out.writeInt(cellsOpen);
+            out.writeLong(elapsedNanos);
+            writeBits(out, mines);
+            writeBits(out, open);
+            writeBits(out, flagged);
+            writeBits(out, questioned);
+            out.writeUTF(playerName != null ? playerName : "");
+            out.writeUTF(difficulty != null ? difficulty : "");
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen in memory
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeBits(DataOutputStream out, byte[] bits) throws IOException {
+        out.writeInt(bits.length);
+        out.write(bits);
+    }
+
+    /**
+     * Decodes a snapshot written by {@link #toBytes()}.
+     * @throws IOException If the data is not a snapshot.
+     */
+    public static GameSnapshot fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a game snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            int rows = in.readInt();
+            int cols = in.readInt();
+            int totalMines = in.readInt();
+            long seed = in.readLong();
+            int placementVersion = in.readUnsignedByte();
+            int flags = in.readUnsignedByte();
+            int firstClickRow = in.readInt();
+            int firstClickCol = in.readInt();
+            int cellsOpen = in.readInt();
+            long elapsedNanos = in.readLong();
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+                throw new IOException("Invalid board size in snapshot: " + rows + "x" + cols);
+            }
+            int maxBytes = (rows * cols + 7) / 8;
+            byte[] mines = readBits(in, maxBytes);
+            byte[] open = readBits(in, maxBytes);
+            byte[] flagged = readBits(in, maxBytes);
+            byte[] questioned = readBits(in, maxBytes);
+            String playerName = in.readUTF();
+            String difficulty = in.readUTF();
+            return new GameSnapshot(rows, cols, totalMines, seed, placementVersion, flags, firstClickRow, firstClickCol,
+                    cellsOpen, elapsedNanos, mines, open, flagged, questioned,
+                    playerName.isEmpty() ? null : playerName, difficulty.isEmpty() ? null : difficulty);
+        }
+    }
+
+    private static byte[] readBits(DataInputStream in, int maxBytes) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > maxBytes) {
+            throw new IOException("Invalid cell data in snapshot");
+        }
+        byte[] bits = new byte[length];
+        in.readFully(bits);
+        return bits;
+    }
+
+    /**
+     * Writes this snapshot to a file, through a temp file that replaces it atomically,
+     * so a crash while saving keeps the previous snapshot.
+     */
+    public void writeTo(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(toBytes());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true); // Complete on disk before it replaces the old snapshot
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(Path)}.
+     */
+    public static GameSnapshot readFrom(Path path) throws IOException {
+        return fromBytes(Files.readAllBytes(path));
+    }
+}
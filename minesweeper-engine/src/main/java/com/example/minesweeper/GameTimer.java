@@ -0,0 +1,113 @@
+package com.example.minesweeper;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Times a game at nanosecond precision and reports each new whole second exactly once.
+ * Instead of checking the clock every frame, the timer schedules a single wakeup for the moment
+ * the next second starts, so a game that is left alone costs one short task per second.
+ * <p>
+ * The listener runs on the timer's own thread; a UI must hand the update to its own thread.
+ * All other methods may be called from any thread.
+ */
+public final class GameTimer implements AutoCloseable {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final IntConsumer onSecond;
+    private long startNanos; // System.nanoTime() at which the game would have started, counting time already played
+    private long stoppedElapsedNanos; // The elapsed time while stopped
+    private boolean running;
+    private int generation; // Changes on every start and stop, so a tick already under way for an old game is dropped
+    private ScheduledFuture<?> nextTick;
+
+    /**
+     * @param onSecond Receives the elapsed whole seconds each time a new second starts.
+     */
+    public GameTimer(IntConsumer onSecond) {
+        this.onSecond = onSecond;
+    }
+
+    /**
+     * Starts timing, replacing whatever was timed before.
+     * @param elapsedNanos Time already played, for a resumed game.
+     */
+    public synchronized void start(long elapsedNanos) {
+        cancelTick();
+        generation++;
+        startNanos = System.nanoTime() - elapsedNanos;
+        running = true;
+        scheduleNextTick(elapsedNanos);
+    }
+
+    /**
+     * Stops timing. Stopping a stopped timer does nothing.
+     * @return The elapsed time when the timer stopped, in nanoseconds.
+     */
+    public synchronized long stop() {
+        if (running) {
+            stoppedElapsedNanos = System.nanoTime() - startNanos;
+            running = false;
+            generation++;
+            cancelTick();
+        }
+        return stoppedElapsedNanos;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /** Returns the time played so far, or when the timer stopped, in nanoseconds. */
+    public synchronized long getElapsedNanos() {
+        return running ? System.nanoTime() - startNanos : stoppedElapsedNanos;
+    }
+
+    /** Returns the {@link System#nanoTime()} the current game started at, counting time already played. */
+    public synchronized long getStartNanos() {
+        return startNanos;
+    }
+
+    /** Stops the timer thread. */
+    @Override
+    public void close() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    private void scheduleNextTick(long elapsedNanos) {
+        long nextSecond = elapsedNanos / NANOS_PER_SECOND + 1;
+        int tickGeneration = generation;
+        nextTick = scheduler.schedule(() -> tick(tickGeneration),
+                nextSecond * NANOS_PER_SECOND - elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void tick(int tickGeneration) {
+        int seconds;
+        synchronized (this) {
+            if (tickGeneration != generation) {
+                return; // Stopped or restarted after this tick was due
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            seconds = (int) (elapsedNanos / NANOS_PER_SECOND);
+            scheduleNextTick(elapsedNanos); // From the actual time, so a late wakeup does not drift
+        }
+        onSecond.accept(seconds);
+    }
+
+    private void cancelTick() {
+        if (nextTick != null) {
+            nextTick.cancel(false);
+            nextTick = null;
+        }
+    }
+}
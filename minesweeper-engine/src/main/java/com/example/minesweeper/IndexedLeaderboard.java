@@ -0,0 +1,130 @@
+package com.example.minesweeper;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An in-memory {@link Leaderboard} indexed per difficulty: a hash map by player for O(1) lookups,
+ * and a set sorted by time so the top N records are read in O(log n + N)
+ * instead of filtering and sorting every record.
+ */
+public class IndexedLeaderboard implements Leaderboard {
+
+    private final Map<String, DifficultyIndex> indexes = new HashMap<>(); // Keyed by normalized difficulty
+    private final Collection<GameRecord> allRecords = new AllRecords();
+    private int recordCount;
+
+    @Override
+    public AddResult add(GameRecord newRecord) {
+        DifficultyIndex index = indexes.computeIfAbsent(normalize(newRecord.getDifficulty()), d -> new DifficultyIndex());
+        String player = Leaderboard.playerKey(newRecord.getPlayerName());
+        GameRecord existingRecord = index.byPlayer.get(player);
+        if (existingRecord == null) {
+            index.byPlayer.put(player, newRecord); // Add as a new record if no existing one found
+            index.byTime.add(newRecord);
+            recordCount++;
+            return AddResult.ADDED;
+        }
+        // If new time is better, update the existing record
+        if (newRecord.getTimeInMillis() < existingRecord.getTimeInMillis()) {
+            index.byTime.remove(existingRecord);
+            index.byPlayer.put(player, newRecord); // Replace with the better record
+            index.byTime.add(newRecord);
+            return AddResult.IMPROVED;
+        }
+        return AddResult.UNCHANGED;
+    }
+
+    @Override
+    public List<GameRecord> getBestRecords(String difficulty, int limit) {
+        DifficultyIndex index = indexes.get(normalize(difficulty));
+        if (index == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<GameRecord> best = new ArrayList<>(Math.min(limit, index.byTime.size()));
+        Iterator<GameRecord> it = index.byTime.iterator();
+        while (best.size() < limit && it.hasNext()) {
+            best.add(it.next());
+        }
+        return best;
+    }
+
+    @Override
+    public List<GameRecord> getRecordsAfter(String difficulty, GameRecord after, int limit) {
+        DifficultyIndex index = indexes.get(normalize(difficulty));
+        if (index == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // The anchor does not have to be in the set, so a record improved since the last page still works.
+        Iterator<GameRecord> it = (after == null ? index.byTime : index.byTime.tailSet(after, false)).iterator();
+        List<GameRecord> page = new ArrayList<>(limit);
+        while (page.size() < limit && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+
+    @Override
+    public GameRecord getPlayerBestRecord(String playerName, String difficulty) {
+        DifficultyIndex index = indexes.get(normalize(difficulty));
+        return index == null ? null : index.byPlayer.get(Leaderboard.playerKey(playerName));
+    }
+
+    @Override
+    public int size() {
+        return recordCount;
+    }
+
+    @Override
+    public Collection<GameRecord> records() {
+        return allRecords;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT); // Returns the same instance if there is nothing to change
+    }
+
+    /** The records of one difficulty, indexed by player and ordered by time. */
+    private static final class DifficultyIndex {
+        private final Map<String, GameRecord> byPlayer = new HashMap<>(); // Keyed by player key
+        private final TreeSet<GameRecord> byTime = new TreeSet<>(RANKING);
+    }
+
+    /** Every record of every difficulty, as a read-only view without copying. */
+    private final class AllRecords extends AbstractCollection<GameRecord> {
+        @Override
+        public Iterator<GameRecord> iterator() {
+            Iterator<DifficultyIndex> difficulties = indexes.values().iterator();
+            return new Iterator<GameRecord>() {
+                private Iterator<GameRecord> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && difficulties.hasNext()) {
+                        current = Collections.unmodifiableCollection(difficulties.next().byPlayer.values()).iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public GameRecord next() {
+                    hasNext();
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return recordCount;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores all records as one pretty-printed JSON array, rewritten in full on every save.
+ * This is the original storage format; {@link LogRecordStore} uses the same file as its snapshot.
+ * The file is read and written as a stream with {@link RecordJson}.
+ */
+public class JsonRecordStore implements RecordStore {
+
+    private static final Logger LOGGER = System.getLogger(JsonRecordStore.class.getName());
+
+    private final Path path;
+
+    public JsonRecordStore(String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public void load(Consumer<GameRecord> consumer) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            RecordJson.read(reader, consumer);
+        } catch (NoSuchFileException e) {
+            LOGGER.log(Level.WARNING, "Could not load records from " + path + ". Creating new file.");
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Could not load records from " + path + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void save(List<GameRecord> changed, Collection<GameRecord> allRecords) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            RecordJson.write(writer, allRecords);
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Could not save records to " + path + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        // Every save is already complete.
+    }
+}
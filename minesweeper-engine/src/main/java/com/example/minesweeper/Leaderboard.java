@@ -0,0 +1,88 @@
+package com.example.minesweeper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The best record per player and difficulty, with the queries the leaderboard screen
+ * and the end-of-game dialog need. Player names and difficulties are matched ignoring case.
+ */
+public interface Leaderboard {
+
+    /** What adding a record did to the leaderboard. */
+    enum AddResult { ADDED, IMPROVED, UNCHANGED }
+
+    /** Adds records through {@link #add}, as one {@link #addBatch batch}. */
+    @FunctionalInterface
+    interface Batch {
+        void run() throws IOException;
+    }
+
+    /**
+     * Leaderboard order: fastest first by milliseconds, remaining ties by {@link #playerKey player key},
+     * which is unique within a difficulty, then by the name as written.
+     */
+    Comparator<GameRecord> RANKING = Comparator.comparingInt(GameRecord::getTimeInMillis)
+            .thenComparing(record -> playerKey(record.getPlayerName()))
+            .thenComparing(GameRecord::getPlayerName);
+
+    /**
+     * Returns the key a player is matched by. Names with the same key are the same player, and every index
+     * must use this key, so that it agrees with {@link #RANKING} on which names are the same.
+     */
+    static String playerKey(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT); // Returns the same instance if there is nothing to change
+    }
+
+    /**
+     * Adds a record, or replaces the player's record for that difficulty if the new time is better.
+     */
+    AddResult add(GameRecord record);
+
+    /**
+     * Runs many {@link #add} calls, such as an import, which a leaderboard that keeps its order on disk can index
+     * once at the end instead of after every record. Nothing else may be asked of the leaderboard until it returns.
+     */
+    default void addBatch(Batch batch) throws IOException {
+        batch.run();
+    }
+
+    /**
+     * Returns the fastest records for a difficulty, best first.
+     */
+    List<GameRecord> getBestRecords(String difficulty, int limit);
+
+    /**
+     * Returns the records of a difficulty that rank after the given record in {@link #RANKING} order,
+     * best first, so the leaderboard can be paged through without skipping over the earlier pages.
+     * @param after The last record of the previous page, or null to start with the best record.
+     */
+    List<GameRecord> getRecordsAfter(String difficulty, GameRecord after, int limit);
+
+    /**
+     * Returns a player's record for a difficulty, or null if there is none.
+     */
+    GameRecord getPlayerBestRecord(String playerName, String difficulty);
+
+    /** Returns the number of records, one per player and difficulty. */
+    int size();
+
+    /** Returns every record as a read-only view; it must not be used while records are being added. */
+    Collection<GameRecord> records();
+
+    /** Returns true if records keep their {@link GameRecord#getReplayId() replay ID}. */
+    default boolean keepsReplayIds() {
+        return true;
+    }
+
+    /** Writes pending changes to disk, for leaderboards that store themselves. */
+    default void flush() {
+    }
+
+    /** Releases any files the leaderboard keeps open. */
+    default void close() {
+    }
+}
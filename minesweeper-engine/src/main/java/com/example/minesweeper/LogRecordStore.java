@@ -0,0 +1,256 @@
+package com.example.minesweeper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Stores records as a JSON snapshot plus an append-only log with one compact JSON record per line.
+ * <p>
+ * Saving a batch of records appends one line per record in a single write and syncs it to disk,
+ * so the cost does not grow with the number of stored records. A crash can at worst leave a partial last line, which is cut off on the next load.
+ * Once the log passes a size threshold it is renamed aside and a background thread writes a new snapshot
+ * to a temporary file, syncs it and atomically renames it over the old one, so the snapshot on disk is
+ * always complete. Loading replays the snapshot, then any log left aside by an interrupted compaction,
+ * then the current log. If writing the snapshot fails, the log set aside is appended back to the current one,
+ * and compaction is tried again once another threshold's worth of records has been saved.
+ * <p>
+ * The snapshot has the same format as {@link JsonRecordStore}'s file, so existing records load unchanged.
+ */
+public class LogRecordStore implements RecordStore {
+
+    private static final Logger LOGGER = System.getLogger(LogRecordStore.class.getName());
+
+    /** Log size in bytes above which a new snapshot is written. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64 * 1024;
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Path compactingLogPath; // The previous log, while its records are folded into a new snapshot
+    private final Path tempSnapshotPath;
+    private final long compactionThreshold;
+
+    private final Gson logGson = new Gson(); // Compact, so every record fits on one line
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "record-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long logSize; // Bytes in the current log, tracked to avoid a size query per save
+    private long compactAbove; // Log size past which the next compaction starts; raised after a failed one
+
+    public LogRecordStore(String snapshotPath) {
+        this(Path.of(snapshotPath), DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public LogRecordStore(Path snapshotPath, long compactionThreshold) {
+        this.snapshotPath = snapshotPath;
+        String name = snapshotPath.getFileName().toString();
+        this.logPath = snapshotPath.resolveSibling(name + ".log");
+        this.compactingLogPath = snapshotPath.resolveSibling(name + ".log.compacting");
+        this.tempSnapshotPath = snapshotPath.resolveSibling(name + ".tmp");
+        this.compactionThreshold = compactionThreshold;
+        this.compactAbove = compactionThreshold;
+    }
+
+    @Override
+    public synchronized void load(Consumer<GameRecord> records) {
+        if (Files.exists(snapshotPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+                RecordJson.read(reader, records); // Streamed, so the snapshot is never held in memory as a whole
+            } catch (IOException e) {
+                LOGGER.log(Level.ERROR, "Could not load records from " + snapshotPath + ": " + e.getMessage());
+            }
+        }
+        try {
+            if (Files.exists(compactingLogPath)) {
+                // A compaction was interrupted; its records are not in the snapshot yet.
+                // Records can be applied in any order, so fold them into the current log.
+                repairTornLine(compactingLogPath);
+                readLog(compactingLogPath, records);
+                foldCompactingLog();
+            }
+            repairTornLine(logPath);
+            readLog(logPath, records);
+            logSize = Files.exists(logPath) ? Files.size(logPath) : 0;
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Could not replay record log " + logPath + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void save(List<GameRecord> changed, Collection<GameRecord> allRecords) {
+        StringBuilder lines = new StringBuilder();
+        for (GameRecord record : changed) {
+            lines.append(logGson.toJson(record)).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            // One write for the whole batch; DSYNC returns only once it is on disk.
+            Files.write(logPath, bytes, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            logSize += bytes.length;
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Could not append records to " + logPath + ": " + e.getMessage());
+            return;
+        }
+        if (logSize > compactAbove && !Files.exists(compactingLogPath)) {
+            startCompaction(allRecords);
+        }
+    }
+
+    // Moves the log aside and writes everything it held into a new snapshot in the background.
+    private void startCompaction(Collection<GameRecord> allRecords) {
+        try {
+            Files.move(logPath, compactingLogPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not start compacting " + logPath + ": " + e.getMessage());
+            return;
+        }
+        logSize = 0; // New records go to a fresh log from here on
+        compactAbove = compactionThreshold;
+        List<GameRecord> snapshot = new ArrayList<>(allRecords); // Already contains every record in the old log
+        compactor.execute(() -> writeSnapshot(snapshot));
+    }
+
+    private void writeSnapshot(List<GameRecord> snapshot) {
+        try {
+            try (FileChannel channel = FileChannel.open(tempSnapshotPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                RecordJson.write(writer, snapshot);
+                writer.flush();
+                channel.force(true); // The new snapshot must be complete on disk before it replaces the old one
+            }
+            Files.move(tempSnapshotPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory(snapshotPath); // The new snapshot must survive a crash before the log set aside is gone
+            synchronized (this) {
+                Files.delete(compactingLogPath);
+            }
+        } catch (IOException e) {
+            // The old snapshot and the log set aside are intact. Fold the log back in so the next compaction can start.
+            LOGGER.log(Level.WARNING, "Could not write record snapshot " + snapshotPath + ": " + e.getMessage());
+            synchronized (this) {
+                try {
+                    foldCompactingLog();
+                    compactAbove = logSize + compactionThreshold; // Not at every save while the cause lasts
+                } catch (IOException foldError) {
+                    LOGGER.log(Level.ERROR, "Could not return " + compactingLogPath + " to the log, compaction stops until"
+                            + " the next start: " + foldError.getMessage());
+                }
+            }
+            try {
+                Files.deleteIfExists(tempSnapshotPath);
+            } catch (IOException ignored) {
+                // Truncated by the next compaction
+            }
+        }
+    }
+
+    // Appends the log set aside for compaction to the current log and deletes it, whose records are then kept
+    // only in the current log.
+    private void foldCompactingLog() throws IOException {
+        repairTornLine(logPath);
+        try (FileChannel from = FileChannel.open(compactingLogPath, StandardOpenOption.READ);
+             FileChannel to = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.APPEND)) {
+            for (long position = 0; position < from.size(); ) {
+                position += from.transferTo(position, from.size() - position, to);
+            }
+            to.force(true);
+            logSize = to.size();
+        }
+        Files.delete(compactingLogPath);
+    }
+
+    // Syncs the directory of a file so a rename into it is on disk. Windows cannot open a directory, and its
+    // file system journals renames itself.
+    private static void forceDirectory(Path file) {
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            LOGGER.log(Level.DEBUG, "Could not sync the directory of " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void readLog(Path path, Consumer<GameRecord> records) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    GameRecord record = logGson.fromJson(line, GameRecord.class);
+                    if (record != null) {
+                        records.accept(record);
+                    }
+                } catch (JsonParseException e) {
+                    LOGGER.log(Level.WARNING, "Skipping unreadable record in " + path + ": " + line);
+                }
+            }
+        }
+    }
+
+    // Cuts off a partial last line left by a crash mid-append, so the next append starts on a fresh line.
+    private static void repairTornLine(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            while (end > 0) {
+                one.clear();
+                channel.read(one, end - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < size) {
+                LOGGER.log(Level.WARNING, "Discarding " + (size - end) + " bytes of an incomplete record in " + path);
+                channel.truncate(end);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Waits for a running compaction to finish.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,699 @@
+package com.example.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Leaderboard} kept in fixed-width binary files that are memory-mapped and queried in place,
+ * for leaderboards too large to load as objects. Opening a store reads only the file headers;
+ * a {@link GameRecord} is created only for each record a query returns.
+ * <p>
+ * The store uses these files next to a base path:
+ * <ul>
+ *     <li>{@code .records}: 12-byte rows of player ID, time in milliseconds and difficulty code, after a header.</li>
+ *     <li>{@code .easy.ranks}, {@code .medium.ranks} and so on, one per difficulty: every row of the difficulty
+ *     as its time and row number, sorted in {@link #RANKING} order, so a leaderboard page is a binary search
+ *     and a sequential read at any size. Adding or improving a record moves the entries between its old and new
+ *     place by one; the records of a {@link #addBatch batch} are merged in at the end instead.</li>
+ *     <li>{@code .players}: one 24-byte row per interned player ID, with the position of the name
+ *     and the record row of each difficulty.</li>
+ *     <li>{@code .names}: the UTF-8 player names.</li>
+ *     <li>{@code .hash}: an open-addressing table from the hash of a lower-cased name to its player ID.</li>
+ * </ul>
+ * Changes are written to the mapped pages at once, so they survive the process, and reach the disk itself
+ * on {@link #flush()}. Counts in the headers are written after the rows they cover, so a crash mid-write
+ * leaves at most an unused row. A rank file is marked invalid while an entry moves, and the rank files are
+ * rebuilt from the rows with one sort if one of them is invalid or missing when the store is opened.
+ * A new store stays {@link #isImportPending() import pending} until its first import is marked complete.
+ * Difficulties are stored as a byte, so only the difficulties in {@link #DIFFICULTIES} can be stored.
+ */
+public class MappedRecordStore implements Leaderboard {
+
+    private static final Logger LOGGER = System.getLogger(MappedRecordStore.class.getName());
+
+    /** The difficulties that can be stored, indexed by their code. */
+    static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard", "Custom"};
+
+    // Version 1 kept times in whole seconds; version 2 kept only the 64 fastest rows in order, in the header.
+    private static final int VERSION = 3;
+
+    private static final int RECORDS_MAGIC = 0x4D535243; // "MSRC"
+    private static final int RECORDS_COUNT = 8;
+    private static final int RECORDS_IMPORT_PENDING = 12; // 1 from creation until markImported(); 0 in older files
+    private static final int RECORDS_HEADER = 2048; // Rest unused since version 3
+    private static final int RECORD_ROW = 12; // Player ID, time in milliseconds, difficulty code and padding
+    private static final int ROW_TIME = 4;
+    private static final int ROW_DIFFICULTY = 8;
+
+    private static final int PLAYERS_MAGIC = 0x4D535050; // "MSPP"
+    private static final int PLAYERS_COUNT = 8;
+    private static final int PLAYERS_NAMES_SIZE = 12;
+    private static final int PLAYERS_HEADER = 64;
+    private static final int PLAYER_ROW = 8 + DIFFICULTIES.length * 4; // Name offset, name length, row per difficulty
+    private static final int PLAYER_ROWS = 8;
+
+    private static final int HASH_MAGIC = 0x4D534853; // "MSHS"
+    private static final int HASH_CAPACITY = 8;
+    private static final int HASH_VALID = 12; // 0 while the table is being rebuilt
+    private static final int HASH_HEADER = 16;
+    private static final int HASH_SLOT = 8; // Name hash, player ID + 1 (0 = empty)
+    private static final int INITIAL_HASH_CAPACITY = 1024;
+
+    private static final int RANKS_MAGIC = 0x4D53524B; // "MSRK"
+    private static final int RANKS_COUNT = 8;
+    private static final int RANKS_VALID = 12; // 0 while an entry is being moved
+    private static final int RANKS_HEADER = 16;
+    private static final int RANK_ENTRY = 8; // Time in milliseconds, record row
+
+    private final MappedFile records;
+    private final MappedFile players;
+    private final MappedFile names;
+    private final MappedFile hash;
+    private final MappedFile[] ranks = new MappedFile[DIFFICULTIES.length];
+    private final int[] rankCounts = new int[DIFFICULTIES.length];
+
+    private int recordCount;
+    private int playerCount;
+    private int namesSize;
+    private int hashCapacity;
+    private BitSet batchRows; // Rows added or improved in the running batch, whose rank entries are not updated yet
+
+    private MappedRecordStore(Path base) throws IOException {
+        String name = base.getFileName().toString();
+        records = new MappedFile(base.resolveSibling(name + ".records"), RECORDS_HEADER);
+        players = new MappedFile(base.resolveSibling(name + ".players"), PLAYERS_HEADER);
+        names = new MappedFile(base.resolveSibling(name + ".names"), 0);
+        hash = new MappedFile(base.resolveSibling(name + ".hash"), HASH_HEADER);
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            ranks[d] = new MappedFile(base.resolveSibling(name + "." + normalize(DIFFICULTIES[d]) + ".ranks"), RANKS_HEADER);
+        }
+        boolean created = records.buffer.getInt(0) == 0;
+        if (created) {
+            records.buffer.putInt(RECORDS_IMPORT_PENDING, 1); // Before the magic, so no store is seen without it
+            records.buffer.putInt(0, RECORDS_MAGIC).putInt(4, VERSION);
+            players.buffer.putInt(0, PLAYERS_MAGIC).putInt(4, VERSION);
+        } else if (records.buffer.getInt(0) != RECORDS_MAGIC || players.buffer.getInt(0) != PLAYERS_MAGIC) {
+            close();
+            throw new IOException("Not a record store: " + base);
+        }
+        recordCount = records.buffer.getInt(RECORDS_COUNT);
+        if (!created && records.buffer.getInt(4) != VERSION) {
+            migrate(records.buffer.getInt(4));
+        }
+        playerCount = players.buffer.getInt(PLAYERS_COUNT);
+        namesSize = players.buffer.getInt(PLAYERS_NAMES_SIZE);
+        if (hash.buffer.getInt(0) != HASH_MAGIC || hash.buffer.getInt(HASH_VALID) != 1) {
+            rehash(Math.max(INITIAL_HASH_CAPACITY, Integer.highestOneBit(Math.max(1, playerCount)) * 4));
+        }
+        hashCapacity = hash.buffer.getInt(HASH_CAPACITY);
+        boolean ranksValid = true;
+        for (MappedFile rank : ranks) {
+            ranksValid &= rank.buffer.getInt(0) == RANKS_MAGIC && rank.buffer.getInt(RANKS_VALID) == 1;
+        }
+        if (!ranksValid) {
+            rebuildRanks();
+        }
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            rankCounts[d] = ranks[d].buffer.getInt(RANKS_COUNT);
+        }
+    }
+
+    // Brings files written by an older version up to date in place.
+    // The rank files of older versions do not exist yet, so they are built once the rows are up to date.
+    private void migrate(int version) throws IOException {
+        if (version != 1 && version != 2) {
+            close();
+            throw new IOException("Unsupported record store version: " + version);
+        }
+        if (version == 1) {
+            for (int row = 0; row < recordCount; row++) {
+                int position = RECORDS_HEADER + row * RECORD_ROW + ROW_TIME;
+                records.buffer.putInt(position, records.buffer.getInt(position) * 1000); // Seconds to milliseconds
+            }
+        }
+        records.buffer.force();
+        records.buffer.putInt(4, VERSION); // Only once every time is converted
+        players.buffer.putInt(4, VERSION);
+    }
+
+    /**
+     * Opens the store at the given base path, creating empty files if there are none.
+     * @throws IOException If the files cannot be mapped or are not a record store.
+     */
+    public static MappedRecordStore open(Path base) throws IOException {
+        return new MappedRecordStore(base);
+    }
+
+    /**
+     * Returns true from the creation of the store until {@link #markImported()} is called, so a one-way import
+     * into a new store that was interrupted, by a crash or an error, is seen on the next start and run again.
+     */
+    public synchronized boolean isImportPending() {
+        return records.buffer.getInt(RECORDS_IMPORT_PENDING) != 0;
+    }
+
+    /**
+     * Writes every change to disk, then records that the store holds everything it was meant to import.
+     */
+    public synchronized void markImported() {
+        force(); // The records must be on disk before the flag that says they are
+        records.buffer.putInt(RECORDS_IMPORT_PENDING, 0);
+        records.buffer.force();
+    }
+
+    @Override
+    public synchronized AddResult add(GameRecord record) {
+        int difficulty = difficultyCode(record.getDifficulty());
+        if (difficulty < 0) {
+            throw new IllegalArgumentException("Cannot store records for difficulty " + record.getDifficulty());
+        }
+        try {
+            return addRow(record, difficulty);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store record " + record, e);
+        }
+    }
+
+    /**
+     * Copies the records of another store into this one as they are read, for a one-way migration
+     * from a store such as the JSON file. Records of difficulties this store cannot hold are skipped.
+     * @return The number of records copied.
+     */
+    public synchronized int importRecords(RecordStore source) throws IOException {
+        int[] imported = {0}; // Updated from the consumer
+        addBatch(() -> {
+            try {
+                source.load(record -> {
+                    int difficulty = difficultyCode(record.getDifficulty());
+                    if (difficulty < 0) {
+                        LOGGER.log(Level.WARNING, "Skipping record with unsupported difficulty: " + record);
+                        return;
+                    }
+                    try {
+                        addRow(record, difficulty);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    imported[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+        force(); // Once at the end instead of per record
+        return imported[0];
+    }
+
+    /**
+     * Writes the rows of the batch as they are added, then merges them into the rank files in one pass per
+     * difficulty, so a batch of k records costs O(n + k log k) instead of moving rank entries for every record.
+     * If the process dies mid-batch, the rank files it changed are left invalid and rebuilt on the next open.
+     */
+    @Override
+    public synchronized void addBatch(Batch batch) throws IOException {
+        if (batchRows != null) {
+            batch.run(); // Part of the running batch
+            return;
+        }
+        batchRows = new BitSet();
+        try {
+            batch.run();
+        } finally {
+            BitSet changed = batchRows;
+            batchRows = null;
+            mergeRanks(changed); // The rows written before a failure are kept, so they are ranked too
+        }
+    }
+
+    private AddResult addRow(GameRecord record, int difficulty) throws IOException {
+        if ((playerCount + 1) * 2L > hashCapacity) {
+            rehash(hashCapacity * 2); // Keep the table at most half full so probes stay short
+        }
+        int found = findPlayer(record.getPlayerName());
+        int player = found >= 0 ? found : addPlayer(record.getPlayerName(), -1 - found);
+        int rowPosition = PLAYERS_HEADER + player * PLAYER_ROW + PLAYER_ROWS + difficulty * 4;
+        int row = players.buffer.getInt(rowPosition);
+        int time = record.getTimeInMillis();
+        if (row >= 0 && time >= timeOf(row)) {
+            return AddResult.UNCHANGED;
+        }
+        if (batchRows != null) {
+            return addRowUnranked(player, rowPosition, row, difficulty, time);
+        }
+        MappedFile rank = ranks[difficulty];
+        int count = rankCounts[difficulty];
+        rank.ensureCapacity(RANKS_HEADER + (count + 1L) * RANK_ENTRY);
+        String stored = playerName(player); // Ranked by the first spelling of the name, which the row keeps
+        int to = findRank(difficulty, GameRecord.ofMillis(stored, record.getDifficulty(), time), false);
+        rank.buffer.putInt(RANKS_VALID, 0);
+        AddResult result;
+        int from; // The entries from the new place up to here move one place later
+        if (row < 0) {
+            row = recordCount;
+            int position = RECORDS_HEADER + row * RECORD_ROW;
+            records.ensureCapacity((long) position + RECORD_ROW);
+            records.buffer.putInt(position, player).putInt(position + ROW_TIME, time)
+                    .put(position + ROW_DIFFICULTY, (byte) difficulty);
+            records.buffer.putInt(RECORDS_COUNT, ++recordCount); // Commits the row
+            players.buffer.putInt(rowPosition, row);
+            from = count;
+            rankCounts[difficulty] = ++count;
+            result = AddResult.ADDED;
+        } else {
+            // Found before the time changes; a better time only ever moves a row towards the front.
+            from = findRank(difficulty, GameRecord.ofMillis(stored, record.getDifficulty(), timeOf(row)), false);
+            records.buffer.putInt(RECORDS_HEADER + row * RECORD_ROW + ROW_TIME, time);
+            result = AddResult.IMPROVED;
+        }
+        int toPosition = RANKS_HEADER + to * RANK_ENTRY;
+        rank.buffer.put(toPosition + RANK_ENTRY, rank.buffer, toPosition, (from - to) * RANK_ENTRY); // Overlap is safe
+        rank.buffer.putInt(toPosition, time).putInt(toPosition + 4, row);
+        rank.buffer.putInt(RANKS_COUNT, count).putInt(RANKS_VALID, 1);
+        return result;
+    }
+
+    // Writes a row during a batch, leaving its rank file invalid until the batch merges the row into it.
+    private AddResult addRowUnranked(int player, int rowPosition, int row, int difficulty, int time) throws IOException {
+        ranks[difficulty].buffer.putInt(RANKS_VALID, 0);
+        if (row >= 0) {
+            records.buffer.putInt(RECORDS_HEADER + row * RECORD_ROW + ROW_TIME, time);
+            batchRows.set(row);
+            return AddResult.IMPROVED;
+        }
+        row = recordCount;
+        int position = RECORDS_HEADER + row * RECORD_ROW;
+        records.ensureCapacity((long) position + RECORD_ROW);
+        records.buffer.putInt(position, player).putInt(position + ROW_TIME, time)
+                .put(position + ROW_DIFFICULTY, (byte) difficulty);
+        records.buffer.putInt(RECORDS_COUNT, ++recordCount); // Commits the row
+        players.buffer.putInt(rowPosition, row);
+        batchRows.set(row);
+        return AddResult.ADDED;
+    }
+
+    @Override
+    public synchronized List<GameRecord> getBestRecords(String difficulty, int limit) {
+        return getRecordsAfter(difficulty, null, limit);
+    }
+
+    @Override
+    public synchronized List<GameRecord> getRecordsAfter(String difficulty, GameRecord after, int limit) {
+        int code = difficultyCode(difficulty);
+        if (code < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int start = after == null ? 0 : findRank(code, after, true);
+        int end = (int) Math.min((long) start + limit, rankCounts[code]);
+        List<GameRecord> page = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            page.add(toRecord(rankRow(code, i)));
+        }
+        return page;
+    }
+
+    /**
+     * Binary searches the ranks of a difficulty for a record, which need not be stored.
+     * @param after True for the first place ranked after the record, false for the first place not before it.
+     */
+    private int findRank(int difficulty, GameRecord record, boolean after) {
+        int low = 0;
+        int high = rankCounts[difficulty];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int order = compareRank(difficulty, middle, record);
+            if (order < 0 || after && order == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Orders a ranked row against a record by RANKING itself; the row is only read as a record on equal times.
+    private int compareRank(int difficulty, int i, GameRecord record) {
+        int position = RANKS_HEADER + i * RANK_ENTRY;
+        int byTime = Integer.compare(ranks[difficulty].buffer.getInt(position), record.getTimeInMillis());
+        return byTime != 0 ? byTime : RANKING.compare(toRecord(ranks[difficulty].buffer.getInt(position + 4)), record);
+    }
+
+    @Override
+    public synchronized GameRecord getPlayerBestRecord(String playerName, String difficulty) {
+        int code = difficultyCode(difficulty);
+        int player = findPlayer(playerName);
+        if (code < 0 || player < 0) {
+            return null;
+        }
+        int row = players.buffer.getInt(PLAYERS_HEADER + player * PLAYER_ROW + PLAYER_ROWS + code * 4);
+        return row < 0 ? null : toRecord(row);
+    }
+
+    @Override
+    public synchronized int size() {
+        return recordCount;
+    }
+
+    @Override
+    public Collection<GameRecord> records() {
+        return new AbstractCollection<GameRecord>() {
+            @Override
+            public Iterator<GameRecord> iterator() {
+                return new Iterator<GameRecord>() {
+                    private int row;
+
+                    @Override
+                    public boolean hasNext() {
+                        return row < size();
+                    }
+
+                    @Override
+                    public GameRecord next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        synchronized (MappedRecordStore.this) {
+                            return toRecord(row++);
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MappedRecordStore.this.size();
+            }
+        };
+    }
+
+    /** Rows are fixed-width and have no room for a replay ID. */
+    @Override
+    public boolean keepsReplayIds() {
+        return false;
+    }
+
+    @Override
+    public synchronized void flush() {
+        force();
+    }
+
+    /**
+     * Writes every change to disk and closes the files. The mappings are released by the garbage collector.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            force();
+            records.channel.close();
+            players.channel.close();
+            names.channel.close();
+            hash.channel.close();
+            for (MappedFile rank : ranks) {
+                rank.channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.ERROR, "Could not close record store: " + e.getMessage());
+        }
+    }
+
+    private void force() {
+        names.buffer.force();
+        players.buffer.force();
+        records.buffer.force();
+        hash.buffer.force();
+        for (MappedFile rank : ranks) {
+            rank.buffer.force();
+        }
+    }
+
+    // --- Players ---
+
+    /**
+     * Looks up a player ID by name, ignoring case.
+     * @return The ID, or -1 - slot with the empty hash slot where the name would go.
+     */
+    private int findPlayer(String playerName) {
+        String key = Leaderboard.playerKey(playerName);
+        int keyHash = key.hashCode();
+        int mask = hashCapacity - 1;
+        for (int slot = mix(keyHash) & mask; ; slot = (slot + 1) & mask) {
+            int position = HASH_HEADER + slot * HASH_SLOT;
+            int stored = hash.buffer.getInt(position + 4);
+            if (stored == 0) {
+                return -1 - slot;
+            }
+            int player = stored - 1;
+            if (hash.buffer.getInt(position) == keyHash && player < playerCount
+                    && Leaderboard.playerKey(playerName(player)).equals(key)) {
+                return player;
+            }
+        }
+    }
+
+    private int addPlayer(String playerName, int slot) throws IOException {
+        byte[] bytes = playerName.getBytes(StandardCharsets.UTF_8);
+        names.ensureCapacity((long) namesSize + bytes.length);
+        names.buffer.put(namesSize, bytes);
+        int player = playerCount;
+        int position = PLAYERS_HEADER + player * PLAYER_ROW;
+        players.ensureCapacity((long) position + PLAYER_ROW);
+        players.buffer.putInt(position, namesSize).putInt(position + 4, bytes.length);
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            players.buffer.putInt(position + PLAYER_ROWS + d * 4, -1);
+        }
+        namesSize += bytes.length;
+        players.buffer.putInt(PLAYERS_NAMES_SIZE, namesSize);
+        players.buffer.putInt(PLAYERS_COUNT, ++playerCount); // Commits the player
+        int hashPosition = HASH_HEADER + slot * HASH_SLOT;
+        hash.buffer.putInt(hashPosition, Leaderboard.playerKey(playerName).hashCode()).putInt(hashPosition + 4, player + 1);
+        return player;
+    }
+
+    private String playerName(int player) {
+        int position = PLAYERS_HEADER + player * PLAYER_ROW;
+        byte[] bytes = new byte[players.buffer.getInt(position + 4)];
+        names.buffer.get(players.buffer.getInt(position), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Rebuilds the name table from the player rows, at a new capacity or after an interrupted rebuild.
+    private void rehash(int capacity) throws IOException {
+        hash.ensureCapacity(HASH_HEADER + (long) capacity * HASH_SLOT);
+        hash.buffer.putInt(0, HASH_MAGIC).putInt(HASH_VALID, 0);
+        for (int position = HASH_HEADER; position < HASH_HEADER + capacity * HASH_SLOT; position += 8) {
+            hash.buffer.putLong(position, 0);
+        }
+        hash.buffer.putInt(HASH_CAPACITY, capacity);
+        hashCapacity = capacity;
+        int mask = capacity - 1;
+        for (int player = 0; player < playerCount; player++) {
+            int keyHash = Leaderboard.playerKey(playerName(player)).hashCode();
+            int slot = mix(keyHash) & mask;
+            while (hash.buffer.getInt(HASH_HEADER + slot * HASH_SLOT + 4) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hash.buffer.putInt(HASH_HEADER + slot * HASH_SLOT, keyHash).putInt(HASH_HEADER + slot * HASH_SLOT + 4, player + 1);
+        }
+        hash.buffer.putInt(HASH_VALID, 1);
+    }
+
+    // --- Records ---
+
+    private int timeOf(int row) {
+        return records.buffer.getInt(RECORDS_HEADER + row * RECORD_ROW + ROW_TIME);
+    }
+
+    private int difficultyOf(int row) {
+        return records.buffer.get(RECORDS_HEADER + row * RECORD_ROW + ROW_DIFFICULTY);
+    }
+
+    private int rankRow(int difficulty, int i) {
+        return ranks[difficulty].buffer.getInt(RANKS_HEADER + i * RANK_ENTRY + 4);
+    }
+
+    /**
+     * Rebuilds every rank file from the rows, for a new store, one written by an older version, or one whose
+     * rank files were left invalid by an interrupted change.
+     */
+    private void rebuildRanks() throws IOException {
+        int[] counts = new int[DIFFICULTIES.length];
+        for (int row = 0; row < recordCount; row++) {
+            counts[difficultyOf(row)]++;
+        }
+        long[][] keys = new long[DIFFICULTIES.length][];
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            keys[d] = new long[counts[d]];
+            counts[d] = 0;
+        }
+        for (int row = 0; row < recordCount; row++) {
+            int d = difficultyOf(row);
+            keys[d][counts[d]++] = rankKey(row);
+        }
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            sortKeys(keys[d]);
+            writeRanks(d, keys[d], keys[d].length);
+        }
+    }
+
+    // Merges the rows changed by a batch into the rank files, sorting only those rows.
+    private void mergeRanks(BitSet changed) throws IOException {
+        int[] counts = new int[DIFFICULTIES.length];
+        for (int row = changed.nextSetBit(0); row >= 0; row = changed.nextSetBit(row + 1)) {
+            counts[difficultyOf(row)]++;
+        }
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            if (counts[d] == 0) {
+                continue;
+            }
+            long[] added = new long[counts[d]];
+            int size = 0;
+            for (int row = changed.nextSetBit(0); row >= 0; row = changed.nextSetBit(row + 1)) {
+                if (difficultyOf(row) == d) {
+                    added[size++] = rankKey(row);
+                }
+            }
+            sortKeys(added);
+            long[] merged = new long[rankCounts[d] + added.length];
+            size = 0;
+            int next = 0;
+            for (int i = 0; i < rankCounts[d]; i++) {
+                int row = rankRow(d, i);
+                if (changed.get(row)) {
+                    continue; // Improved in the batch, so this entry has its old time
+                }
+                long key = (long) ranks[d].buffer.getInt(RANKS_HEADER + i * RANK_ENTRY) << 32 | row;
+                while (next < added.length && compareKeys(added[next], key) < 0) {
+                    merged[size++] = added[next++];
+                }
+                merged[size++] = key;
+            }
+            while (next < added.length) {
+                merged[size++] = added[next++];
+            }
+            writeRanks(d, merged, size);
+        }
+    }
+
+    // Writes the first count keys as the rank file of a difficulty, marking it valid only once it is on disk.
+    private void writeRanks(int difficulty, long[] keys, int count) throws IOException {
+        MappedFile rank = ranks[difficulty];
+        rank.ensureCapacity(RANKS_HEADER + (long) count * RANK_ENTRY);
+        rank.buffer.putInt(0, RANKS_MAGIC).putInt(4, VERSION).putInt(RANKS_VALID, 0);
+        for (int i = 0; i < count; i++) {
+            int position = RANKS_HEADER + i * RANK_ENTRY;
+            rank.buffer.putInt(position, (int) (keys[i] >>> 32)).putInt(position + 4, (int) keys[i]);
+        }
+        rank.buffer.putInt(RANKS_COUNT, count);
+        rank.buffer.force();
+        rank.buffer.putInt(RANKS_VALID, 1);
+        rankCounts[difficulty] = count;
+    }
+
+    // A row's time and number in one long, so rows sort by time as primitives.
+    private long rankKey(int row) {
+        return (long) timeOf(row) << 32 | row; // Times are never negative
+    }
+
+    // Orders two keys as RANKING orders their rows; a row is only read as a record on equal times.
+    private int compareKeys(long a, long b) {
+        int byTime = Long.compare(a >>> 32, b >>> 32);
+        return byTime != 0 ? byTime : RANKING.compare(toRecord((int) a), toRecord((int) b));
+    }
+
+    // Sorts keys by time and row number as primitives, then puts only runs of equal times in RANKING order.
+    private void sortKeys(long[] keys) {
+        Arrays.sort(keys);
+        for (int start = 0, end; start < keys.length; start = end) {
+            end = start + 1;
+            while (end < keys.length && keys[end] >>> 32 == keys[start] >>> 32) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortTiesByName(keys, start, end);
+            }
+        }
+    }
+
+    // Puts keys with equal times in RANKING order, reading each row as a record once.
+    private void sortTiesByName(long[] keys, int start, int end) {
+        GameRecord[] tied = new GameRecord[end - start];
+        Integer[] order = new Integer[end - start];
+        for (int i = 0; i < tied.length; i++) {
+            tied[i] = toRecord((int) keys[start + i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> RANKING.compare(tied[a], tied[b]));
+        long[] sorted = new long[tied.length];
+        for (int i = 0; i < tied.length; i++) {
+            sorted[i] = keys[start + order[i]];
+        }
+        System.arraycopy(sorted, 0, keys, start, sorted.length);
+    }
+
+    private GameRecord toRecord(int row) {
+        int position = RECORDS_HEADER + row * RECORD_ROW;
+        return GameRecord.ofMillis(playerName(records.buffer.getInt(position)),
+                DIFFICULTIES[records.buffer.get(position + ROW_DIFFICULTY)],
+                records.buffer.getInt(position + ROW_TIME));
+    }
+
+    private static int difficultyCode(String difficulty) {
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            if (DIFFICULTIES[i].equalsIgnoreCase(difficulty)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16) ^ (h >>> 7); // Spreads String hash codes, whose low bits cluster
+    }
+
+    /** A file mapped read-write in full, remapped at double the size when it has to grow. */
+    private static final class MappedFile {
+
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+
+        MappedFile(Path path, int minimumSize) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            if (channel.size() > Integer.MAX_VALUE) {
+                channel.close();
+                throw new IOException("Record file too large to map: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(minimumSize, channel.size()));
+        }
+
+        void ensureCapacity(long size) throws IOException {
+            if (size <= buffer.capacity()) {
+                return;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Record file would exceed 2 GB");
+            }
+            long newSize = Math.min(Integer.MAX_VALUE, Math.max(size, Math.max(4096L, buffer.capacity() * 2L)));
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize); // Extends the file
+        }
+    }
+}
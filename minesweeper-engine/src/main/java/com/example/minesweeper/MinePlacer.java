@@ -0,0 +1,224 @@
+package com.example.minesweeper;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The `MinePlacer` class places mines on a {@link Board} with Floyd's sampling algorithm.
+ * Every layout is equally likely and exactly one random number is drawn per mine,
+ * so placement costs O(mines) at any density instead of retrying on occupied cells.
+ * The first clicked cell, and optionally its eight neighbours, are always kept clear.
+ * <p>
+ * Mines can either be placed around a known first click ({@link #place}), or placed anywhere before
+ * the click ({@link #placeAnywhere}) and the few that land on the safe cells moved away once it arrives
+ * ({@link #clearSafeCells}). Both produce every allowed layout with equal probability.
+ */
+public final class MinePlacer {
+
+    private MinePlacer() {
+    }
+
+    /**
+     * Places mines on an empty board.
+     * @param board The board to place mines on; its mine bitset must be clear.
+     * @param mineCount The number of mines to place.
+     * @param safeRow The row of the first clicked cell, which never gets a mine.
+     * @param safeCol The column of the first clicked cell.
+     * @param clearNeighbours True to also keep the eight neighbours of the first clicked cell clear.
+     *                        Ignored if there would not be enough cells left for all mines.
+     * @param random The random number generator to draw from.
+     * @param minesOut Receives the board indices of the placed mines; must hold at least mineCount entries.
+     */
+    public static void place(Board board, int mineCount, int safeRow, int safeCol, boolean clearNeighbours,
+                             RandomGenerator random, int[] minesOut) {
+        int[] excluded = new int[9]; // Safe cells in ascending index order
+        int excludedCount = safeCells(board, mineCount, safeRow, safeCol, clearNeighbours, excluded);
+
+        // Floyd's algorithm samples mineCount distinct values from [0, candidates) without rejection.
+        // Candidate numbers are mapped to board indices by skipping over the excluded cells,
+        // and the board's own mine bitset serves as the "already chosen" set.
+        int candidates = board.size() - excludedCount;
+        int placed = 0;
+        for (int j = candidates - mineCount; j < candidates; j++) {
+            int index = toBoardIndex(random.nextInt(j + 1), excluded, excludedCount);
+            if (board.isMine(index)) {
+                index = toBoardIndex(j, excluded, excludedCount); // j itself can never have been chosen yet
+            }
+            board.setMine(index, true);
+            minesOut[placed++] = index;
+        }
+    }
+
+    /**
+     * Places mines on an empty board with no cell kept clear, before the first click is known.
+     * Follow up with {@link #clearSafeCells} once it is.
+     * @param board The board to place mines on; its mine bitset must be clear.
+     * @param mineCount The number of mines to place.
+     * @param random The random number generator to draw from.
+     * @param minesOut Receives the board indices of the placed mines; must hold at least mineCount entries.
+     */
+    public static void placeAnywhere(Board board, int mineCount, RandomGenerator random, int[] minesOut) {
+        if (board.size() < mineCount) {
+            throw new IllegalArgumentException("Cannot place " + mineCount + " mines on " + board.size() + " cells");
+        }
+        int candidates = board.size();
+        int placed = 0;
+        for (int j = candidates - mineCount; j < candidates; j++) {
+            int index = random.nextInt(j + 1);
+            if (board.isMine(index)) {
+                index = j;
+            }
+            board.setMine(index, true);
+            minesOut[placed++] = index;
+        }
+    }
+
+    /**
+     * Moves every mine on the first clicked cell, and optionally its neighbours, to a random free cell.
+     * Each moved mine lands on any other free cell with equal probability, so the result is as uniform
+     * as placing around the click in the first place, but only the at most nine safe cells are visited.
+     * @param board A board whose mines were placed by {@link #placeAnywhere}.
+     * @param mines The board indices of the mines, updated in place.
+     * @param mineCount The number of mines.
+     * @param safeRow The row of the first clicked cell.
+     * @param safeCol The column of the first clicked cell.
+     * @param clearNeighbours True to also clear the eight neighbours, if there is room for all mines elsewhere.
+     * @param updateCounts True if the neighbour counts are already computed and must follow the moved mines.
+     * @param random The random number generator to draw from.
+     */
+    public static void clearSafeCells(Board board, int[] mines, int mineCount, int safeRow, int safeCol,
+                                      boolean clearNeighbours, boolean updateCounts, RandomGenerator random) {
+        int[] excluded = new int[9];
+        int excludedCount = safeCells(board, mineCount, safeRow, safeCol, clearNeighbours, excluded);
+        for (int i = 0; i < excludedCount; i++) {
+            int from = excluded[i];
+            if (!board.isMine(from)) {
+                continue;
+            }
+            // Rejection sampling over the whole board: size / free cells draws on average, e.g. 10 at 90% density.
+            int to;
+            do {
+                to = random.nextInt(board.size());
+            } while (board.isMine(to) || isExcluded(to, excluded, excludedCount));
+            removeMine(board, from, updateCounts);
+            addMine(board, to, updateCounts);
+            for (int m = 0; m < mineCount; m++) {
+                if (mines[m] == from) {
+                    mines[m] = to;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the neighbour count of every non-mine cell next to the given mines.
+     * The counts must start at zero; walking out from each mine costs O(mines) instead of visiting the whole board.
+     */
+    public static void countMinesAround(Board board, int[] mines, int mineCount) {
+        for (int i = 0; i < mineCount; i++) {
+            int mine = mines[i];
+            int r = board.rowOf(mine);
+            int c = board.colOf(mine);
+            int rowStart = Math.max(r - 1, 0);
+            int rowEnd = Math.min(r + 1, board.getRows() - 1);
+            int colStart = Math.max(c - 1, 0);
+            int colEnd = Math.min(c + 1, board.getCols() - 1);
+            for (int nr = rowStart; nr <= rowEnd; nr++) {
+                for (int nc = colStart; nc <= colEnd; nc++) {
+                    int neighbor = board.index(nr, nc);
+                    if (!board.isMine(neighbor)) {
+                        board.incrementMinesAround(neighbor); // Mines themselves keep a count of 0
+                    }
+                }
+            }
+        }
+    }
+
+    private static void removeMine(Board board, int index, boolean updateCounts) {
+        board.setMine(index, false);
+        if (!updateCounts) {
+            return;
+        }
+        int count = 0;
+        int r = board.rowOf(index);
+        int c = board.colOf(index);
+        for (int nr = r - 1; nr <= r + 1; nr++) {
+            for (int nc = c - 1; nc <= c + 1; nc++) {
+                if ((nr != r || nc != c) && board.contains(nr, nc)) {
+                    int neighbor = board.index(nr, nc);
+                    if (board.isMine(neighbor)) {
+                        count++;
+                    } else {
+                        board.decrementMinesAround(neighbor);
+                    }
+                }
+            }
+        }
+        board.setMinesAround(index, count); // The cell is no longer a mine, so it needs its own count
+    }
+
+    private static void addMine(Board board, int index, boolean updateCounts) {
+        board.setMine(index, true);
+        if (!updateCounts) {
+            return;
+        }
+        int r = board.rowOf(index);
+        int c = board.colOf(index);
+        for (int nr = r - 1; nr <= r + 1; nr++) {
+            for (int nc = c - 1; nc <= c + 1; nc++) {
+                if ((nr != r || nc != c) && board.contains(nr, nc)) {
+                    int neighbor = board.index(nr, nc);
+                    if (!board.isMine(neighbor)) {
+                        board.incrementMinesAround(neighbor);
+                    }
+                }
+            }
+        }
+        board.setMinesAround(index, 0);
+    }
+
+    /**
+     * Collects the cells that must stay clear of mines, in ascending index order.
+     * @return The number of safe cells written to excluded.
+     */
+    private static int safeCells(Board board, int mineCount, int safeRow, int safeCol, boolean clearNeighbours,
+                                 int[] excluded) {
+        int excludedCount = 0;
+        if (clearNeighbours) {
+            for (int r = safeRow - 1; r <= safeRow + 1; r++) {
+                for (int c = safeCol - 1; c <= safeCol + 1; c++) {
+                    if (board.contains(r, c)) {
+                        excluded[excludedCount++] = board.index(r, c);
+                    }
+                }
+            }
+        }
+        if (board.size() - excludedCount < mineCount) {
+            excludedCount = 0; // Too dense to keep the neighbours clear; protect only the clicked cell
+        }
+        if (excludedCount == 0) {
+            excluded[excludedCount++] = board.index(safeRow, safeCol);
+        }
+        if (board.size() - excludedCount < mineCount) {
+            throw new IllegalArgumentException("Cannot place " + mineCount + " mines on " + board.size() + " cells");
+        }
+        return excludedCount;
+    }
+
+    private static boolean isExcluded(int index, int[] excluded, int excludedCount) {
+        for (int i = 0; i < excludedCount; i++) {
+            if (excluded[i] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toBoardIndex(int candidate, int[] excluded, int excludedCount) {
+        int index = candidate;
+        for (int i = 0; i < excludedCount && excluded[i] <= index; i++) {
+            index++; // Each excluded cell at or before this position shifts it one further
+        }
+        return index;
+    }
+}
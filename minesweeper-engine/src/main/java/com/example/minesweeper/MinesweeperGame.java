@@ -0,0 +1,526 @@
+package com.example.minesweeper;
+
+import com.example.minesweeper.metrics.GameMetrics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The `MinesweeperGame` class manages the core logic of the Minesweeper game.
+ * This includes mine placement, counting adjacent mines, handling cell openings,
+ * and checking for win/loss conditions.
+ * All cell state is kept in a primitive-packed {@link Board}; {@link Cell} objects are only views of it.
+ * Mines are generated from an explicit seed, so together with the first clicked cell
+ * every board can be reproduced from its {@link BoardId}.
+ * The mines can be prepared on a background thread before the first click ({@link #prepareMines}),
+ * so the click itself only has to move the few mines that landed on the safe cells.
+ */
+public class MinesweeperGame {
+
+
+    private final Board board;
+    private final int rows;
+    private final int cols;
+    private final int totalMines;
+    private int cellsOpen;
+    private boolean gameOver;
+    private boolean gameWon;
+    private boolean firstClick;
+    private boolean clearFirstClickNeighbours; // True to keep the neighbours of the first click free of mines too
+
+    private int[] mines; // Board indices of the placed mines
+    private int minesPlaced;
+    private boolean minesReady; // True once mines are placed and counted, possibly before the first click
+    private boolean minesCounted; // True if the neighbour counts were computed together with the placement
+    private int placementVersion = BoardId.VERSION_MOVED_FROM_FIRST_CLICK; // How the next mines are sampled
+    private CompletableFuture<PreparedMines> preparedMines; // Layout being built in the background, if any
+
+    private final FloodFill floodFill; // Reusable opener for blank regions, sized to the board
+    private final BoardChanges changes = new BoardChanges(); // Cells affected by the last action
+    private int flagsPlaced; // Number of flags currently on the board, kept up to date on every toggle
+
+    private long seed; // Seed of the generator used for mine placement
+    private int firstClickRow = -1; // Position of the first click, once mines are placed
+    private int firstClickCol = -1;
+    private boolean placedWithClearNeighbours; // The neighbour setting the current mines were placed with
+
+    /**
+     * Creates a game with a random seed.
+     */
+    public MinesweeperGame(Board board, int totalMines) {
+        this(board, totalMines, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a game whose mines are generated from the given seed.
+     * The same seed, first click and neighbour setting always produce the same board.
+     */
+    public MinesweeperGame(Board board, int totalMines, long seed) {
+        if (totalMines < 0 || totalMines >= board.size()) {
+            throw new IllegalArgumentException("Mine count must be between 0 and " + (board.size() - 1) + ": " + totalMines);
+        }
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.totalMines = totalMines;
+        this.mines = new int[totalMines];
+        this.floodFill = new FloodFill(board);
+        this.seed = seed;
+        resetGame(); // Initialize game state to default
+    }
+
+    /**
+     * Recreates the exact board described by a board ID and replays its first click.
+     * @param boardId The ID of a previously generated board.
+     * @return A game in the state right after the original first click.
+     */
+    public static MinesweeperGame fromBoardId(BoardId boardId) {
+        Board board = new Board(boardId.getRows(), boardId.getCols());
+        MinesweeperGame game = new MinesweeperGame(board, boardId.getMines(), boardId.getSeed());
+        game.setClearFirstClickNeighbours(boardId.isClearFirstClickNeighbours());
+        game.placementVersion = boardId.getVersion();
+        game.handleLeftClick(boardId.getFirstClickRow(), boardId.getFirstClickCol());
+        return game;
+    }
+
+    /**
+     * Captures the full state of this game. Mines prepared in the background but not yet used are not included;
+     * a restored game places them again from the same seed.
+     * @param elapsedNanos The time played so far, kept with the state for resuming the timer.
+     */
+    public GameSnapshot snapshot(long elapsedNanos) {
+        return new GameSnapshot(rows, cols, totalMines, seed, placementVersion, firstClick, gameOver, gameWon,
+                clearFirstClickNeighbours, placedWithClearNeighbours, firstClickRow, firstClickCol, cellsOpen,
+                elapsedNanos, board.copyBits(), null, null);
+    }
+
+    /**
+     * Recreates a game from a snapshot, in exactly the state it was taken in.
+     * @throws IllegalArgumentException If the snapshot is inconsistent, for example has the wrong number of mines.
+     */
+    public static MinesweeperGame restore(GameSnapshot snapshot) {
+        if (snapshot.placementVersion != BoardId.VERSION_PLACED_AROUND_FIRST_CLICK
+                && snapshot.placementVersion != BoardId.VERSION_MOVED_FROM_FIRST_CLICK) {
+            throw new IllegalArgumentException("Unsupported mine placement in snapshot: " + snapshot.placementVersion);
+        }
+        Board board = new Board(snapshot.rows, snapshot.cols);
+        MinesweeperGame game = new MinesweeperGame(board, snapshot.totalMines, snapshot.seed);
+        board.restoreBits(snapshot.isFirstClick() ? new byte[0] : snapshot.mines, snapshot.open, snapshot.flagged,
+                snapshot.questioned);
+        game.placementVersion = snapshot.placementVersion;
+        game.clearFirstClickNeighbours = snapshot.isClearFirstClickNeighbours();
+        game.firstClick = snapshot.isFirstClick();
+        game.gameOver = snapshot.isGameOver();
+        game.gameWon = snapshot.isGameWon();
+        game.cellsOpen = snapshot.cellsOpen;
+        game.flagsPlaced = board.countFlags();
+        if (!game.firstClick) {
+            // Rebuild the mine list from the bitset and count around it, instead of storing either.
+            int placed = 0;
+            for (int index = board.nextMine(0); index >= 0; index = board.nextMine(index + 1)) {
+                if (placed == game.mines.length) {
+                    throw new IllegalArgumentException("Snapshot has more than " + snapshot.totalMines + " mines");
+                }
+                game.mines[placed++] = index;
+            }
+            if (placed != snapshot.totalMines || !board.contains(snapshot.firstClickRow, snapshot.firstClickCol)) {
+                throw new IllegalArgumentException("Snapshot has " + placed + " of " + snapshot.totalMines
+                        + " mines or no first click");
+            }
+            game.minesPlaced = placed;
+            game.minesReady = true;
+            game.calculateMinesAround();
+            game.firstClickRow = snapshot.firstClickRow;
+            game.firstClickCol = snapshot.firstClickCol;
+            game.placedWithClearNeighbours = snapshot.isPlacedWithClearNeighbours();
+        }
+        return game;
+    }
+
+    /**
+     * Resets the game and uses a new seed for the next mine placement.
+     */
+    public void resetGame(long seed) {
+        this.seed = seed;
+        resetGame();
+    }
+
+    public void resetGame() {
+        board.clear(); // Reset the state of every cell at once
+        cellsOpen = 0;
+        gameOver = false;
+        gameWon = false;
+        firstClick = true; // Set to true to trigger deferred mine placement on first interaction
+        minesPlaced = 0; // Forget the previously placed mines
+        minesReady = false;
+        minesCounted = false;
+        discardPreparedMines(); // A layout prepared for the previous game no longer applies
+        flagsPlaced = 0;
+        firstClickRow = -1;
+        firstClickCol = -1;
+        changes.clear();
+        // Mines are not placed here; they are placed on the first click.
+    }
+
+    public BoardChanges handleLeftClick(Cell cell) {
+        return handleLeftClick(cell.getRow(), cell.getCol());
+    }
+
+    /**
+     * Opens a cell, or chords if it is already open.
+     * @return The cells changed by this click; the instance is reused by the next action.
+     */
+    public BoardChanges handleLeftClick(int row, int col) {
+        changes.clear();
+        if (gameOver) {
+            return changes; // Ignore clicks if the game has already ended
+        }
+
+        int index = board.index(row, col);
+        if (board.isOpen(index)) {
+            // If the cell is already open and has a number, attempt a "chord" action.
+            if (board.getMinesAround(index) > 0) {
+                tryChord(row, col);
+            }
+            return changes; // Ignore normal left-click on an already open cell
+        }
+
+        if (board.isFlagged(index)) {
+            return changes; // Ignore left-click if the cell is flagged (flags prevent opening)
+        }
+
+        // IMPORTANT: Mine placement is deferred until the first actual click.
+        // This ensures the first clicked cell is never a mine.
+        if (firstClick) {
+            if (!minesReady) {
+                placeAndCountMines(row, col); // Place mines, avoiding the first clicked cell
+            }
+            firstClick = false; // Toggle first click flag
+            openCell(row, col);
+            checkGameEnd();
+            return changes; // Exit to prevent re-opening or immediate loss
+        }
+
+        // If it's a mine, the game is over.
+        if (board.isMine(index)) {
+            explode(index);
+            return changes;
+        }
+
+        openCell(row, col);
+        checkGameEnd();
+        return changes;
+    }
+
+    private void tryChord(int r, int c) {
+        int clickedIndex = board.index(r, c);
+        if (!board.isOpen(clickedIndex) || board.getMinesAround(clickedIndex) == 0) {
+            return;
+        }
+
+        int flagCount = 0;
+        // First, count the number of flags around the clicked cell.
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr == 0 && dc == 0) continue; // Skip the cell itself
+
+                int neighborRow = r + dr;
+                int neighborCol = c + dc;
+
+                // Check bounds and if the neighbor is flagged.
+                if (board.contains(neighborRow, neighborCol) &&
+                        board.isFlagged(board.index(neighborRow, neighborCol))) {
+                    flagCount++;
+                }
+            }
+        }
+
+        // If the flag count matches the cell's number, open adjacent cells.
+        if (flagCount == board.getMinesAround(clickedIndex)) {
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (dr == 0 && dc == 0) continue;
+
+                    int neighborRow = r + dr;
+                    int neighborCol = c + dc;
+
+                    if (board.contains(neighborRow, neighborCol)) {
+                        int neighbor = board.index(neighborRow, neighborCol);
+                        if (!board.isOpen(neighbor) && !board.isFlagged(neighbor)) {
+                            if (board.isMine(neighbor)) {
+                                explode(neighbor);
+                                return;
+                            } else {
+                                openCell(neighborRow, neighborCol);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public BoardChanges handleRightClick(Cell cell) {
+        return handleRightClick(cell.getRow(), cell.getCol());
+    }
+
+    /**
+     * Cycles the mark of a closed cell: closed -> flag -> question mark -> closed.
+     * @return The cell changed by this click; the instance is reused by the next action.
+     */
+    public BoardChanges handleRightClick(int row, int col) {
+        changes.clear();
+        int index = board.index(row, col);
+        // Ignore right-clicks if game is over or cell is already open.
+        if (gameOver || board.isOpen(index)) {
+            return changes;
+        }
+
+        CellState before = board.getState(index);
+        if (before == CellState.FLAGGED) {
+            board.setQuestioned(index, true); // Flag -> Question mark
+            flagsPlaced--;
+        } else if (before == CellState.QUESTIONED) {
+            board.setQuestioned(index, false); // Question mark -> Closed
+        } else {
+            board.setFlagged(index, true); // Closed -> Flag
+            flagsPlaced++;
+        }
+        changes.add(index, before, board.getState(index));
+        return changes;
+    }
+
+    /**
+     * Places the mines of a previously generated board before the first click, so the click itself
+     * only opens cells. The caller must make sure the first click will land on a safe cell;
+     * any blank cell opened by the board's own first click gives exactly the same opening.
+     * @param boardId A board with the same size and mine count as this game.
+     * @throws IllegalArgumentException If the board does not match this game.
+     * @throws IllegalStateException If the first click has already been made.
+     */
+    public void placeMinesFrom(BoardId boardId) {
+        if (boardId.getRows() != rows || boardId.getCols() != cols || boardId.getMines() != totalMines) {
+            throw new IllegalArgumentException("Board " + boardId + " does not fit a " + rows + "x" + cols
+                    + " game with " + totalMines + " mines");
+        }
+        if (!firstClick) {
+            throw new IllegalStateException("Mines can only be placed before the first click");
+        }
+        if (minesReady) {
+            board.clearMines(); // Replace a board prepared earlier; flags placed before the first click stay
+        }
+        this.seed = boardId.getSeed();
+        this.clearFirstClickNeighbours = boardId.isClearFirstClickNeighbours();
+        this.placementVersion = boardId.getVersion();
+        discardPreparedMines(); // It was prepared for a different seed
+        placeAndCountMines(boardId.getFirstClickRow(), boardId.getFirstClickCol());
+    }
+
+    private void placeAndCountMines(int firstClickRow, int firstClickCol) {
+        long start = GameMetrics.start();
+        placeMines(firstClickRow, firstClickCol);
+        calculateMinesAround();
+        GameMetrics.recordMinePlacement(start, board.size(), minesPlaced);
+    }
+
+    /**
+     * Starts placing and counting this game's mines on the given executor, before the first click is known.
+     * If the layout is ready when the first click arrives, the click only moves the mines off the safe cells;
+     * otherwise it places the mines itself as usual. Either way the board is the same for the same seed.
+     * Must be called from the thread that plays the game, before the first click.
+     */
+    public void prepareMines(Executor executor) {
+        if (!firstClick || minesReady || placementVersion != BoardId.VERSION_MOVED_FROM_FIRST_CLICK) {
+            return;
+        }
+        discardPreparedMines();
+        long preparedSeed = seed;
+        preparedMines = CompletableFuture.supplyAsync(
+                () -> PreparedMines.create(rows, cols, totalMines, preparedSeed), executor);
+    }
+
+    private void discardPreparedMines() {
+        if (preparedMines != null) {
+            preparedMines.cancel(false); // A running preparation finishes, but its result is dropped
+            preparedMines = null;
+        }
+    }
+
+    // Returns the layout prepared in the background if it is complete, never waiting for it.
+    private PreparedMines takePreparedMines() {
+        CompletableFuture<PreparedMines> pending = preparedMines;
+        if (pending == null) {
+            return null;
+        }
+        preparedMines = null;
+        if (pending.isDone() && !pending.isCompletedExceptionally()) {
+            GameMetrics.recordFirstClick(true);
+            return pending.join();
+        }
+        pending.cancel(false);
+        GameMetrics.recordFirstClick(false);
+        return null;
+    }
+
+    // Package-private so the benchmarks can time mine placement and counting separately.
+    void placeMines(int firstClickRow, int firstClickCol) {
+        // Exact sampling with one random draw per mine, so the cost does not grow with density.
+        // A fresh generator per placement makes the board depend only on the seed and the first click.
+        minesCounted = false;
+        if (placementVersion == BoardId.VERSION_PLACED_AROUND_FIRST_CLICK) {
+            SplittableRandom random = new SplittableRandom(seed);
+            MinePlacer.place(board, totalMines, firstClickRow, firstClickCol, clearFirstClickNeighbours, random, mines);
+        } else {
+            PreparedMines prepared = takePreparedMines();
+            SplittableRandom random;
+            if (prepared != null) {
+                board.swapMines(prepared.getBoard()); // Take over the prepared mines and counts in O(1)
+                mines = prepared.getMines();
+                random = prepared.getRandom();
+                minesCounted = true;
+            } else {
+                random = new SplittableRandom(seed);
+                MinePlacer.placeAnywhere(board, totalMines, random, mines);
+            }
+            // Only the at most nine safe cells are visited, so this is cheap at any board size.
+            MinePlacer.clearSafeCells(board, mines, totalMines, firstClickRow, firstClickCol,
+                    clearFirstClickNeighbours, minesCounted, random);
+        }
+        this.firstClickRow = firstClickRow;
+        this.firstClickCol = firstClickCol;
+        this.placedWithClearNeighbours = clearFirstClickNeighbours;
+        minesPlaced = totalMines; // Remember the mines for revealing them later
+        minesReady = true;
+    }
+
+    void calculateMinesAround() {
+        if (!minesCounted) {
+            // The board starts with all counts at zero, so walking out from each mine and
+            // incrementing its neighbours costs O(mines) instead of visiting the whole board.
+            MinePlacer.countMinesAround(board, mines, minesPlaced);
+            minesCounted = true;
+        }
+    }
+
+    private void openCell(int r, int c) {
+        // The flood fill skips cells that are out of bounds, already open, flagged or mines,
+        // and spreads iteratively from blank cells instead of recursing.
+        long start = GameMetrics.start();
+        int opened = floodFill.fill(r, c);
+        GameMetrics.recordFloodFill(start, opened);
+        cellsOpen += opened; // Count the successfully opened non-mine cells
+        for (int i = 0; i < opened; i++) {
+            int index = floodFill.openedCell(i);
+            // Flagged cells are never opened, but question marks are.
+            changes.add(index, board.isQuestioned(index) ? CellState.QUESTIONED : CellState.CLOSED, CellState.OPEN);
+        }
+    }
+
+    private void explode(int index) {
+        openMine(index); // Mark the exploded mine as open
+        gameOver = true;
+        changes.markGameEnded();
+        GameMetrics.recordGameEnd(false);
+        revealAllMines(); // Show all mines on the board
+    }
+
+    private void revealAllMines() {
+        // Only the placed mines need to be visited, not the whole board.
+        for (int i = 0; i < minesPlaced; i++) {
+            if (!board.isOpen(mines[i])) {
+                openMine(mines[i]); // Mark mine cells as open for UI display
+            }
+        }
+    }
+
+    private void openMine(int index) {
+        CellState before = board.getState(index);
+        board.setOpen(index, true);
+        changes.add(index, before, CellState.OPEN);
+    }
+
+    private void checkGameEnd() {
+        // Win condition: The number of opened non-mine cells equals
+        // the total number of cells minus the total number of mines.
+        if (cellsOpen == board.size() - totalMines) {
+            gameWon = true;
+            gameOver = true;
+            changes.markGameEnded();
+            GameMetrics.recordGameEnd(true);
+        }
+    }
+
+    // --- History ---
+
+    /** Clears and returns the reused change set, so {@link GameHistory} can report the cells of an undo or redo. */
+    BoardChanges clearChanges() {
+        changes.clear();
+        return changes;
+    }
+
+    /** Puts back the counters and end state that a move recorded by {@link GameHistory} changed. */
+    void restoreProgress(int cellsOpen, int flagsPlaced, boolean gameOver, boolean gameWon) {
+        this.cellsOpen = cellsOpen;
+        this.flagsPlaced = flagsPlaced;
+        this.gameOver = gameOver;
+        this.gameWon = gameWon;
+    }
+
+    /**
+     * Chooses whether the eight neighbours of the first clicked cell are also kept free of mines,
+     * so the first click always opens an area. Takes effect from the next first click.
+     */
+    public void setClearFirstClickNeighbours(boolean clearFirstClickNeighbours) {
+        this.clearFirstClickNeighbours = clearFirstClickNeighbours;
+    }
+
+    // --- Getters for Game State ---
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /** Returns the number of flags currently placed, without rescanning the board. */
+    public int getFlagCount() {
+        return flagsPlaced;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the ID that regenerates the current board, or null if no mines have been placed yet.
+     */
+    public BoardId getBoardId() {
+        if (firstClickRow < 0) {
+            return null;
+        }
+        return new BoardId(placementVersion, rows, cols, totalMines, seed, firstClickRow, firstClickCol,
+                placedWithClearNeighbours);
+    }
+
+    public int getTotalMines() {
+        return totalMines;
+    }
+
+    /** Returns the number of safe cells opened so far. */
+    public int getCellsOpen() {
+        return cellsOpen;
+    }
+
+    /** Returns true until the first cell is opened and the mines are placed. */
+    public boolean isFirstClick() {
+        return firstClick;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isGameWon() {
+        return gameWon;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.minesweeper;
+
+import java.util.SplittableRandom;
+
+/**
+ * A mine layout built ahead of the first click, usually on a background thread:
+ * a board with its mines placed anywhere and counted, plus the generator to continue with
+ * when the first click moves mines off the safe cells. Because the generator continues
+ * from the same state, a prepared layout yields exactly the board a synchronous placement would.
+ */
+final class PreparedMines {
+
+    private final Board board;
+    private final int[] mines;
+    private final SplittableRandom random;
+
+    private PreparedMines(Board board, int[] mines, SplittableRandom random) {
+        this.board = board;
+        this.mines = mines;
+        this.random = random;
+    }
+
+    /**
+     * Places and counts the mines for a game with the given seed. Safe to call from any thread.
+     */
+    static PreparedMines create(int rows, int cols, int mineCount, long seed) {
+        Board board = new Board(rows, cols);
+        int[] mines = new int[mineCount];
+        SplittableRandom random = new SplittableRandom(seed);
+        MinePlacer.placeAnywhere(board, mineCount, random, mines);
+        MinePlacer.countMinesAround(board, mines, mineCount);
+        return new PreparedMines(board, mines, random);
+    }
+
+    Board getBoard() {
+        return board;
+    }
+
+    int[] getMines() {
+        return mines;
+    }
+
+    SplittableRandom getRandom() {
+        return random;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.minesweeper;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes the records file format, a JSON array of records, one record at a time
+ * with Gson's streaming {@link JsonReader} and {@link JsonWriter}. Memory use does not depend
+ * on the size of the file, and each record is handed on as soon as it has been read.
+ * The output is the same pretty-printed array that {@code Gson.toJson} writes for a list of records.
+ */
+public final class RecordJson {
+
+    private static final Logger LOGGER = System.getLogger(RecordJson.class.getName());
+
+    private static final String PLAYER_NAME = "playerName";
+    private static final String DIFFICULTY = "difficulty";
+    private static final String TIME_IN_SECONDS = "timeInSeconds";
+    private static final String TIME_IN_MILLIS = "timeInMillis";
+    private static final String REPLAY_ID = "replayId";
+
+    private RecordJson() {
+    }
+
+    /**
+     * Reads an array of records. Unknown fields are ignored and records without a name or difficulty are skipped.
+     * @param consumer Receives each record as soon as it has been read.
+     * @return The number of records passed to the consumer.
+     * @throws IOException If the input cannot be read or is not a records array. Records read before
+     *                     the error have already been passed on.
+     */
+    public static int read(Reader in, Consumer<GameRecord> consumer) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        int count = 0;
+        try {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return 0; // Empty file
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                GameRecord record = readRecord(reader);
+                if (record != null) {
+                    consumer.accept(record);
+                    count++;
+                }
+            }
+            reader.endArray();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Not a records file: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    private static GameRecord readRecord(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String playerName = null;
+        String difficulty = null;
+        int timeInSeconds = 0;
+        int timeInMillis = 0; // Missing in records saved in whole seconds
+        String replayId = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (field) {
+                case PLAYER_NAME:
+                    playerName = reader.nextString();
+                    break;
+                case DIFFICULTY:
+                    difficulty = reader.nextString();
+                    break;
+                case TIME_IN_SECONDS:
+                    timeInSeconds = reader.nextInt();
+                    break;
+                case TIME_IN_MILLIS:
+                    timeInMillis = reader.nextInt();
+                    break;
+                case REPLAY_ID:
+                    replayId = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (playerName == null || difficulty == null) {
+            LOGGER.log(Level.WARNING, "Skipping record without a player name or difficulty");
+            return null;
+        }
+        GameRecord record = timeInMillis > 0
+                ? GameRecord.ofMillis(playerName, difficulty, timeInMillis)
+                : new GameRecord(playerName, difficulty, timeInSeconds);
+        record.setReplayId(replayId);
+        return record;
+    }
+
+    /**
+     * Writes records as a pretty-printed JSON array. The writer is flushed but not closed.
+     * @return The number of records written.
+     */
+    public static int write(Writer out, Iterable<GameRecord> records) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.setSerializeNulls(false); // Like Gson, leave out missing fields
+        int count = 0;
+        writer.beginArray();
+        for (GameRecord record : records) {
+            writer.beginObject();
+            writer.name(PLAYER_NAME).value(record.getPlayerName());
+            writer.name(DIFFICULTY).value(record.getDifficulty());
+            writer.name(TIME_IN_SECONDS).value(record.getTimeInSeconds()); // For versions that only read seconds
+            writer.name(TIME_IN_MILLIS).value(record.getTimeInMillis());
+            writer.name(REPLAY_ID).value(record.getReplayId()); // Left out when there is none
+            writer.endObject();
+            count++;
+        }
+        writer.endArray();
+        writer.flush();
+        return count;
+    }
+}
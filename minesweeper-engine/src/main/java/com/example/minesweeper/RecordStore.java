@@ -0,0 +1,34 @@
+package com.example.minesweeper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where a {@link DataManager} keeps its records between runs.
+ * The data manager keeps only the best record per player and difficulty, and applying the same
+ * records again or in a different order gives the same result, so a store may hand back
+ * superseded or repeated records from {@link #load()}.
+ */
+public interface RecordStore {
+
+    /**
+     * Reads every stored record, passing each one on as soon as it has been read,
+     * so the caller can index records without holding the whole file in memory.
+     * @param consumer Receives the records to apply; nothing if nothing has been stored yet.
+     */
+    void load(Consumer<GameRecord> consumer);
+
+    /**
+     * Persists records that were just added or improved, as one batch.
+     * @param changed The new or improved records, oldest first.
+     * @param allRecords Every current record, including the changed ones. This may be a live view,
+     *                   so it must be copied if it is used after the call.
+     */
+    void save(List<GameRecord> changed, Collection<GameRecord> allRecords);
+
+    /**
+     * Finishes any pending background work and releases the store.
+     */
+    void close();
+}
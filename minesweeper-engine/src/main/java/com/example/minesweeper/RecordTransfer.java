@@ -0,0 +1,47 @@
+package com.example.minesweeper;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Imports or exports the leaderboard of the install in the working directory from the command line,
+ * streaming the records so files of any size can be moved:
+ * <pre>
+ * java -cp minesweeper-engine/target/classes:gson.jar com.example.minesweeper.RecordTransfer export records.json
+ * java -cp minesweeper-engine/target/classes:gson.jar com.example.minesweeper.RecordTransfer import records.json
+ * </pre>
+ * The store is picked with {@code -Dminesweeper.records.store}, as in the application.
+ */
+public final class RecordTransfer {
+
+    private RecordTransfer() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: RecordTransfer <import|export> <file>");
+            System.exit(1);
+        }
+        Path path = Path.of(args[1]);
+        DataManager dataManager = DataManager.getInstance();
+        try {
+            switch (args[0].toLowerCase(Locale.ROOT)) {
+                case "import":
+                    dataManager.importRecordsAsync(path).join();
+                    break;
+                case "export":
+                    dataManager.exportRecordsAsync(path).join();
+                    break;
+                default:
+                    System.err.println("Unknown command: " + args[0]);
+                    System.exit(1);
+            }
+        } catch (CompletionException e) {
+            System.err.println(e.getCause().getMessage());
+            dataManager.close();
+            System.exit(1);
+        }
+        dataManager.close(); // Writes the imported records
+    }
+}
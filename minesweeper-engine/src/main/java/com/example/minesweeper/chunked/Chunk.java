@@ -0,0 +1,64 @@
+package com.example.minesweeper.chunked;
+
+/**
+ * One {@value #SIZE}x{@value #SIZE} square of a {@link ChunkedBoard}. Cells are addressed by a row-major
+ * local index; mines and the open/flag/question marks are kept in {@code long[]} bitsets and the neighbour
+ * counts in a byte array, about 6 KB per chunk. Mines and counts can always be generated again from the seed,
+ * so only the marks have to be kept once the player has changed them.
+ */
+final class Chunk {
+
+    static final int SHIFT = 6;
+    static final int SIZE = 1 << SHIFT;
+    static final int MASK = SIZE - 1;
+    static final int CELLS = SIZE * SIZE;
+    static final int WORDS = CELLS / 64;
+
+    final long key;
+    final long[] mines = new long[WORDS];
+    final long[] open = new long[WORDS];
+    final long[] flagged = new long[WORDS];
+    final long[] questioned = new long[WORDS];
+    final byte[] minesAround = new byte[CELLS];
+    private boolean dirty; // True once the player opened or marked a cell, so evicting must keep the marks
+
+    Chunk(long key) {
+        this.key = key;
+    }
+
+    static long key(int chunkRow, int chunkCol) {
+        return (long) chunkRow << 32 | (chunkCol & 0xFFFFFFFFL);
+    }
+
+    static int rowOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int colOf(long key) {
+        return (int) key;
+    }
+
+    static int local(long row, long col) {
+        return (int) (row & MASK) << SHIFT | (int) (col & MASK);
+    }
+
+    static boolean get(long[] bits, int local) {
+        return (bits[local >>> 6] & 1L << local) != 0;
+    }
+
+    static void set(long[] bits, int local, boolean value) {
+        if (value) {
+            bits[local >>> 6] |= 1L << local;
+        } else {
+            bits[local >>> 6] &= ~(1L << local);
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+}
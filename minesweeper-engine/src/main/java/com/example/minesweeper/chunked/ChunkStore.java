@@ -0,0 +1,84 @@
+package com.example.minesweeper.chunked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the marks of chunks evicted from a {@link ChunkedBoard}'s cache, one small file per chunk in a directory.
+ * Only the open, flag and question mark bitsets are written, {@value #FILE_SIZE} bytes per chunk;
+ * mines and neighbour counts are generated again when the chunk is loaded.
+ */
+final class ChunkStore implements AutoCloseable {
+
+    private static final int FILE_SIZE = 3 * Chunk.WORDS * Long.BYTES;
+
+    private final Path directory;
+    private final Set<Long> spilled = new HashSet<>(); // Keys of chunks with a file
+    private final ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+
+    ChunkStore(Path directory) {
+        this.directory = directory;
+    }
+
+    boolean contains(long key) {
+        return spilled.contains(key);
+    }
+
+    int size() {
+        return spilled.size();
+    }
+
+    void save(Chunk chunk) throws IOException {
+        if (spilled.isEmpty()) {
+            Files.createDirectories(directory);
+        }
+        buffer.clear();
+        buffer.asLongBuffer().put(chunk.open).put(chunk.flagged).put(chunk.questioned);
+        try (FileChannel channel = FileChannel.open(pathOf(chunk.key), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        spilled.add(chunk.key);
+    }
+
+    /**
+     * Reads the marks of a spilled chunk into a newly generated one and deletes the file,
+     * since the chunk is kept in memory again.
+     */
+    void load(Chunk chunk) throws IOException {
+        Path path = pathOf(chunk.key);
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Truncated chunk file: " + path);
+                }
+            }
+        }
+        buffer.flip();
+        buffer.asLongBuffer().get(chunk.open).get(chunk.flagged).get(chunk.questioned);
+        Files.delete(path);
+        spilled.remove(chunk.key);
+    }
+
+    private Path pathOf(long key) {
+        return directory.resolve(Chunk.rowOf(key) + "_" + Chunk.colOf(key) + ".chunk");
+    }
+
+    /** Deletes every spilled chunk. */
+    @Override
+    public void close() throws IOException {
+        for (long key : spilled) {
+            Files.deleteIfExists(pathOf(key));
+        }
+        spilled.clear();
+    }
+}
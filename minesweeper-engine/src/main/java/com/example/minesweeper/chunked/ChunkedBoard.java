@@ -0,0 +1,517 @@
+package com.example.minesweeper.chunked;
+
+import com.example.minesweeper.CellState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A board for worlds too large to allocate, up to 2<sup>36</sup> cells on a side or unbounded in every direction.
+ * The world is split into {@value #CHUNK_SIZE}x{@value #CHUNK_SIZE} chunks. The mines of a chunk come only
+ * from the seed, the chunk's coordinates and the first click, so any chunk can be generated again at any time,
+ * and a chunk is only created when one of its cells is needed. Reading the state of a chunk that was never
+ * touched creates nothing.
+ * <p>
+ * Created chunks are kept in an LRU cache. When it is full, the least recently used chunk is evicted:
+ * a chunk the player never changed is simply dropped, and a chunk with opened or marked cells has its marks
+ * spilled to disk, or kept in memory if there is no spill directory. Memory therefore grows with the explored
+ * area only, and with a spill directory it stays at the cache size.
+ * <p>
+ * Each chunk gets {@code density} times its cells in mines, so a finite board's mine count is fixed once the
+ * first click is known. A {@code ChunkedBoard} is not thread-safe; it is played through a {@link ChunkedGame}.
+ */
+public class ChunkedBoard implements AutoCloseable {
+
+    private static final Logger LOGGER = System.getLogger(ChunkedBoard.class.getName());
+
+    /** Cells on each side of a chunk. */
+    public static final int CHUNK_SIZE = Chunk.SIZE;
+
+    /** Chunks kept in memory by default, about 24 MB. */
+    public static final int DEFAULT_CACHE_CHUNKS = 4096;
+
+    /** The largest coordinate, so chunk coordinates fit in an int. */
+    public static final long MAX_COORDINATE = 1L << 36;
+
+    private static final long UNBOUNDED = -1;
+
+    private final long rows;
+    private final long cols;
+    private final double density;
+    private final long seed;
+    private final int cacheChunks;
+    private final ChunkStore store; // Null to keep every changed chunk in memory
+    private final LinkedHashMap<Long, Chunk> cache;
+    private final Map<Long, Chunk> pinned = new HashMap<>(); // Changed chunks evicted without a spill directory
+    private Chunk lastChunk; // Most cells are read next to the last one, so this skips most lookups
+
+    private boolean minesPlaced;
+    private long safeRow;
+    private long safeCol;
+    private int safeRadius; // 0 keeps only the first click free of mines, 1 also its neighbours
+    private long totalMines = -1;
+
+    private final int[] candidates = new int[Chunk.CELLS]; // Scratch for sampling a chunk's mines
+    private final long[][] window = new long[9][]; // Mine bits of a chunk and its eight neighbours
+    private final long[][] generated = new long[9][Chunk.WORDS];
+    private long createdChunks;
+    private long spills;
+
+    private ChunkedBoard(long rows, long cols, double density, long seed, int cacheChunks, Path spillDirectory) {
+        if (!(density > 0 && density < 1)) {
+            throw new IllegalArgumentException("Mine density must be between 0 and 1: " + density);
+        }
+        if (cacheChunks < 2) {
+            throw new IllegalArgumentException("The cache must hold at least two chunks: " + cacheChunks);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.density = density;
+        this.seed = seed;
+        this.cacheChunks = cacheChunks;
+        this.store = spillDirectory != null ? new ChunkStore(spillDirectory) : null;
+        this.cache = new LinkedHashMap<>(cacheChunks * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+                if (size() <= ChunkedBoard.this.cacheChunks) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates a board of a fixed size.
+     * @param density The share of each chunk's cells that are mines.
+     * @param spillDirectory Where the marks of evicted chunks are written, or null to keep them in memory.
+     */
+    public static ChunkedBoard finite(long rows, long cols, double density, long seed, int cacheChunks,
+                                      Path spillDirectory) {
+        if (rows <= 0 || cols <= 0 || rows > MAX_COORDINATE || cols > MAX_COORDINATE
+                || rows > Long.MAX_VALUE / 2 / cols) { // The cell count must fit in a long
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        return new ChunkedBoard(rows, cols, density, seed, cacheChunks, spillDirectory);
+    }
+
+    /**
+     * Creates a board without edges, for coordinates from -{@link #MAX_COORDINATE} to {@link #MAX_COORDINATE}.
+     * @param spillDirectory Where the marks of evicted chunks are written, or null to keep them in memory.
+     */
+    public static ChunkedBoard infinite(double density, long seed, int cacheChunks, Path spillDirectory) {
+        return new ChunkedBoard(UNBOUNDED, UNBOUNDED, density, seed, cacheChunks, spillDirectory);
+    }
+
+    public boolean isInfinite() {
+        return rows == UNBOUNDED;
+    }
+
+    /** Returns the number of rows, or -1 for an infinite board. */
+    public long getRows() {
+        return rows;
+    }
+
+    /** Returns the number of columns, or -1 for an infinite board. */
+    public long getCols() {
+        return cols;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean contains(long row, long col) {
+        if (rows == UNBOUNDED) {
+            return row >= -MAX_COORDINATE && row < MAX_COORDINATE && col >= -MAX_COORDINATE && col < MAX_COORDINATE;
+        }
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Returns the number of mines on a finite board, or -1 for an infinite board or before the first click.
+     */
+    public long getTotalMines() {
+        return totalMines;
+    }
+
+    /** Returns the number of cells on a finite board, or -1 for an infinite board. */
+    public long size() {
+        return rows == UNBOUNDED ? -1 : rows * cols;
+    }
+
+    // --- Cells ---
+
+    /**
+     * Returns the visible state of a cell. A cell of a chunk that was never touched is closed,
+     * and reading it creates nothing.
+     */
+    public CellState getState(long row, long col) {
+        Chunk chunk = existingChunk(row, col);
+        if (chunk == null) {
+            return CellState.CLOSED;
+        }
+        int local = Chunk.local(row, col);
+        if (Chunk.get(chunk.open, local)) {
+            return CellState.OPEN;
+        }
+        if (Chunk.get(chunk.flagged, local)) {
+            return CellState.FLAGGED;
+        }
+        return Chunk.get(chunk.questioned, local) ? CellState.QUESTIONED : CellState.CLOSED;
+    }
+
+    public boolean isOpen(long row, long col) {
+        Chunk chunk = existingChunk(row, col);
+        return chunk != null && Chunk.get(chunk.open, Chunk.local(row, col));
+    }
+
+    public boolean isFlagged(long row, long col) {
+        Chunk chunk = existingChunk(row, col);
+        return chunk != null && Chunk.get(chunk.flagged, Chunk.local(row, col));
+    }
+
+    public boolean isQuestioned(long row, long col) {
+        Chunk chunk = existingChunk(row, col);
+        return chunk != null && Chunk.get(chunk.questioned, Chunk.local(row, col));
+    }
+
+    /**
+     * Returns true if the cell is a mine. Creates its chunk if needed.
+     * @throws IllegalStateException Before the first click, which decides where the mines go.
+     */
+    public boolean isMine(long row, long col) {
+        return Chunk.get(chunk(row, col).mines, Chunk.local(row, col));
+    }
+
+    /**
+     * Returns the number of mines around a cell. Creates its chunk if needed.
+     * @throws IllegalStateException Before the first click, which decides where the mines go.
+     */
+    public int getMinesAround(long row, long col) {
+        return chunk(row, col).minesAround[Chunk.local(row, col)];
+    }
+
+    void setOpen(long row, long col) {
+        Chunk chunk = chunk(row, col);
+        Chunk.set(chunk.open, Chunk.local(row, col), true);
+        chunk.markDirty();
+    }
+
+    void setFlagged(long row, long col, boolean flagged) {
+        Chunk chunk = chunk(row, col);
+        int local = Chunk.local(row, col);
+        Chunk.set(chunk.flagged, local, flagged);
+        if (flagged) {
+            Chunk.set(chunk.questioned, local, false); // A flagged cell cannot also be questioned
+        }
+        chunk.markDirty();
+    }
+
+    void setQuestioned(long row, long col, boolean questioned) {
+        Chunk chunk = chunk(row, col);
+        int local = Chunk.local(row, col);
+        Chunk.set(chunk.questioned, local, questioned);
+        if (questioned) {
+            Chunk.set(chunk.flagged, local, false);
+        }
+        chunk.markDirty();
+    }
+
+    // --- Mines ---
+
+    /**
+     * Fixes where the mines go: every chunk keeps the first click, and optionally its neighbours, free of mines.
+     * Chunks can only be created after this.
+     */
+    void placeMines(long firstRow, long firstCol, boolean clearNeighbours) {
+        if (minesPlaced) {
+            throw new IllegalStateException("Mines are already placed");
+        }
+        safeRow = firstRow;
+        safeCol = firstCol;
+        safeRadius = clearNeighbours ? 1 : 0;
+        minesPlaced = true;
+        if (rows != UNBOUNDED) {
+            totalMines = countMines();
+        }
+    }
+
+    boolean isMinesPlaced() {
+        return minesPlaced;
+    }
+
+    // Sums the mines of every chunk by chunk shape, then corrects the few chunks around the first click.
+    private long countMines() {
+        long fullRows = rows >> Chunk.SHIFT;
+        long fullCols = cols >> Chunk.SHIFT;
+        int lastHeight = (int) (rows & Chunk.MASK);
+        int lastWidth = (int) (cols & Chunk.MASK);
+        long total = fullRows * fullCols * minesFor(Chunk.CELLS, 0)
+                + fullRows * minesFor(Chunk.SIZE * lastWidth, 0)
+                + fullCols * minesFor(lastHeight * Chunk.SIZE, 0)
+                + minesFor(lastHeight * lastWidth, 0);
+        for (int chunkRow = chunkOf(safeRow - safeRadius); chunkRow <= chunkOf(safeRow + safeRadius); chunkRow++) {
+            for (int chunkCol = chunkOf(safeCol - safeRadius); chunkCol <= chunkOf(safeCol + safeRadius); chunkCol++) {
+                int cells = cellsInside(chunkRow, chunkCol);
+                total += minesFor(cells, safeCellsIn(chunkRow, chunkCol)) - minesFor(cells, 0);
+            }
+        }
+        return total;
+    }
+
+    private int minesFor(int cells, int safeCells) {
+        return Math.min((int) (density * cells), cells - safeCells);
+    }
+
+    private int cellsInside(int chunkRow, int chunkCol) {
+        return (int) (span((long) chunkRow << Chunk.SHIFT, rows) * span((long) chunkCol << Chunk.SHIFT, cols));
+    }
+
+    // Returns how many of the chunk's rows or columns starting at start lie on the board.
+    private static long span(long start, long limit) {
+        if (limit == UNBOUNDED) {
+            return Chunk.SIZE;
+        }
+        return Math.max(0, Math.min(limit, start + Chunk.SIZE) - Math.max(0, start));
+    }
+
+    private int safeCellsIn(int chunkRow, int chunkCol) {
+        int safe = 0;
+        for (long row = safeRow - safeRadius; row <= safeRow + safeRadius; row++) {
+            for (long col = safeCol - safeRadius; col <= safeCol + safeRadius; col++) {
+                if (contains(row, col) && chunkOf(row) == chunkRow && chunkOf(col) == chunkCol) {
+                    safe++;
+                }
+            }
+        }
+        return safe;
+    }
+
+    private boolean isSafe(long row, long col) {
+        return Math.abs(row - safeRow) <= safeRadius && Math.abs(col - safeCol) <= safeRadius;
+    }
+
+    /**
+     * Samples the mines of a chunk into a bitset with a partial Fisher-Yates shuffle of its free cells.
+     * The generator is seeded from the board seed and the chunk's key only, so the result never changes.
+     */
+    private void generateMines(long key, long[] bits) {
+        Arrays.fill(bits, 0);
+        long top = (long) Chunk.rowOf(key) << Chunk.SHIFT;
+        long left = (long) Chunk.colOf(key) << Chunk.SHIFT;
+        int free = 0;
+        for (int local = 0; local < Chunk.CELLS; local++) {
+            long row = top + (local >>> Chunk.SHIFT);
+            long col = left + (local & Chunk.MASK);
+            if (contains(row, col) && !isSafe(row, col)) {
+                candidates[free++] = local;
+            }
+        }
+        if (free == 0) {
+            return; // Off the board
+        }
+        int inside = cellsInside(Chunk.rowOf(key), Chunk.colOf(key));
+        int mines = minesFor(inside, inside - free);
+        SplittableRandom random = new SplittableRandom(mix(seed + mix(key)));
+        for (int i = 0; i < mines; i++) {
+            int j = i + random.nextInt(free - i);
+            int local = candidates[j];
+            candidates[j] = candidates[i];
+            candidates[i] = local;
+            Chunk.set(bits, local, true);
+        }
+    }
+
+    // Stafford's mix13, so neighbouring chunk keys get unrelated generators.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // --- Chunks ---
+
+    private static int chunkOf(long coordinate) {
+        return (int) (coordinate >> Chunk.SHIFT); // Rounds down for negative coordinates too
+    }
+
+    private static long keyOf(long row, long col) {
+        return Chunk.key(chunkOf(row), chunkOf(col));
+    }
+
+    // Returns the chunk of a cell if it was created, loading it back if it was spilled, without creating it.
+    private Chunk existingChunk(long row, long col) {
+        long key = keyOf(row, col);
+        if (lastChunk != null && lastChunk.key == key) {
+            return lastChunk;
+        }
+        Chunk chunk = cache.get(key);
+        if (chunk == null && (pinned.containsKey(key) || store != null && store.contains(key))) {
+            chunk = chunk(row, col);
+        }
+        if (chunk != null) {
+            lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    // Returns the chunk of a cell, creating it if needed.
+    private Chunk chunk(long row, long col) {
+        long key = keyOf(row, col);
+        if (lastChunk != null && lastChunk.key == key) {
+            return lastChunk;
+        }
+        Chunk chunk = cache.get(key);
+        if (chunk == null) {
+            chunk = pinned.remove(key);
+            if (chunk == null) {
+                chunk = create(key);
+            }
+            cache.put(key, chunk); // May evict the least recently used chunk
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private Chunk create(long key) {
+        if (!minesPlaced) {
+            throw new IllegalStateException("Mines are placed on the first click");
+        }
+        Chunk chunk = new Chunk(key);
+        generateMines(key, chunk.mines);
+        countMinesAround(chunk);
+        createdChunks++;
+        if (store != null && store.contains(key)) {
+            try {
+                store.load(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load chunk " + Chunk.rowOf(key) + "," + Chunk.colOf(key), e);
+            }
+            chunk.markDirty();
+        }
+        return chunk;
+    }
+
+    /**
+     * Counts the mines around every cell of a chunk from its own mines and those of its eight neighbours,
+     * generating the neighbours' mines if they are not in memory. Each mine within one cell of the chunk
+     * adds one to the in-chunk cells around it.
+     */
+    private void countMinesAround(Chunk chunk) {
+        int chunkRow = Chunk.rowOf(chunk.key);
+        int chunkCol = Chunk.colOf(chunk.key);
+        for (int w = 0; w < 9; w++) {
+            if (w == 4) {
+                window[w] = chunk.mines;
+                continue;
+            }
+            long key = Chunk.key(chunkRow + w / 3 - 1, chunkCol + w % 3 - 1);
+            Chunk neighbour = cache.get(key);
+            if (neighbour == null) {
+                neighbour = pinned.get(key);
+            }
+            if (neighbour != null) {
+                window[w] = neighbour.mines;
+            } else {
+                generateMines(key, generated[w]);
+                window[w] = generated[w];
+            }
+        }
+        byte[] counts = chunk.minesAround;
+        for (int w = 0; w < 9; w++) {
+            int rowOffset = (w / 3 - 1) * Chunk.SIZE;
+            int colOffset = (w % 3 - 1) * Chunk.SIZE;
+            long[] bits = window[w];
+            for (int word = 0; word < Chunk.WORDS; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    int local = word << 6 | Long.numberOfTrailingZeros(remaining);
+                    int r = rowOffset + (local >>> Chunk.SHIFT);
+                    int c = colOffset + (local & Chunk.MASK);
+                    if (r < -1 || r > Chunk.SIZE || c < -1 || c > Chunk.SIZE) {
+                        continue; // Too far from this chunk to count
+                    }
+                    for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, Chunk.MASK); nr++) {
+                        for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, Chunk.MASK); nc++) {
+                            if (nr != r || nc != c) {
+                                counts[nr << Chunk.SHIFT | nc]++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void evict(Chunk chunk) {
+        if (chunk == lastChunk) {
+            lastChunk = null;
+        }
+        if (!chunk.isDirty()) {
+            return; // Generated again from the seed when it is needed
+        }
+        if (store == null) {
+            pinned.put(chunk.key, chunk);
+            return;
+        }
+        try {
+            store.save(chunk);
+            spills++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill chunk " + Chunk.rowOf(chunk.key) + ","
+                    + Chunk.colOf(chunk.key), e);
+        }
+    }
+
+    // --- Statistics ---
+
+    /** Returns the number of chunks in the cache. */
+    public int getCachedChunkCount() {
+        return cache.size();
+    }
+
+    /** Returns the number of changed chunks kept in memory outside the cache, without a spill directory. */
+    public int getPinnedChunkCount() {
+        return pinned.size();
+    }
+
+    /** Returns the number of chunks whose marks are on disk. */
+    public int getSpilledChunkCount() {
+        return store != null ? store.size() : 0;
+    }
+
+    /** Returns how many times a chunk was generated, including chunks generated again after eviction. */
+    public long getCreatedChunkCount() {
+        return createdChunks;
+    }
+
+    /** Returns how many times a changed chunk was written to disk. */
+    public long getSpillCount() {
+        return spills;
+    }
+
+    /** Deletes the spilled chunks. */
+    @Override
+    public void close() {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete spilled chunks: " + e.getMessage());
+            }
+        }
+    }
+}
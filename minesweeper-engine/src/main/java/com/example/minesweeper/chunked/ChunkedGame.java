@@ -0,0 +1,223 @@
+package com.example.minesweeper.chunked;
+
+import com.example.minesweeper.CellState;
+
+import java.util.Arrays;
+
+/**
+ * The game logic for a {@link ChunkedBoard}, with the same rules as
+ * {@link com.example.minesweeper.MinesweeperGame} but with {@code long} coordinates.
+ * On an infinite board the game can only be lost; it ends when a mine is opened.
+ * <p>
+ * A blank region can be far larger than anything on a normal board, and at low densities endless,
+ * so one click opens at most {@code maxFill} cells. Blank cells at the edge of a stopped fill stay open
+ * with closed neighbours; clicking one of them continues the fill from there.
+ * When the game is lost, only the mine that was opened is revealed, since the mines of a large board cannot
+ * all be shown; {@link ChunkedBoard#isMine} tells where the others are in any area being drawn.
+ */
+public class ChunkedGame {
+
+    /** Cells opened by one click at most, by default. */
+    public static final int DEFAULT_MAX_FILL = 1 << 20;
+
+    private final ChunkedBoard board;
+    private final int maxFill;
+    private boolean clearFirstClickNeighbours = true;
+    private boolean firstClick = true;
+    private boolean gameOver;
+    private boolean gameWon;
+    private long cellsOpen;
+    private long flagsPlaced;
+
+    private long[] queueRows = new long[256]; // Cells opened by the current fill, in the order they were opened
+    private long[] queueCols = new long[256];
+    private int queued;
+
+    public ChunkedGame(ChunkedBoard board) {
+        this(board, DEFAULT_MAX_FILL);
+    }
+
+    public ChunkedGame(ChunkedBoard board, int maxFill) {
+        if (maxFill <= 0) {
+            throw new IllegalArgumentException("The fill limit must be positive: " + maxFill);
+        }
+        this.board = board;
+        this.maxFill = maxFill;
+    }
+
+    /**
+     * Chooses whether the eight neighbours of the first clicked cell are also kept free of mines.
+     * Only has an effect before the first click.
+     */
+    public void setClearFirstClickNeighbours(boolean clearFirstClickNeighbours) {
+        this.clearFirstClickNeighbours = clearFirstClickNeighbours;
+    }
+
+    /**
+     * Opens a cell, chords on an open numbered cell, or continues a stopped fill from an open blank cell.
+     * @return The number of cells opened, including a mine that ends the game.
+     */
+    public long handleLeftClick(long row, long col) {
+        if (gameOver || !board.contains(row, col)) {
+            return 0;
+        }
+        if (firstClick) {
+            board.placeMines(row, col, clearFirstClickNeighbours); // The mines now avoid this click
+            firstClick = false;
+        }
+        if (board.isOpen(row, col)) {
+            return board.getMinesAround(row, col) > 0 ? chord(row, col) : fill(row, col, true);
+        }
+        if (board.isFlagged(row, col)) {
+            return 0;
+        }
+        if (board.isMine(row, col)) {
+            explode(row, col);
+            return 1;
+        }
+        return fill(row, col, false);
+    }
+
+    private long chord(long row, long col) {
+        int flags = 0;
+        for (long r = row - 1; r <= row + 1; r++) {
+            for (long c = col - 1; c <= col + 1; c++) {
+                if ((r != row || c != col) && board.contains(r, c) && board.isFlagged(r, c)) {
+                    flags++;
+                }
+            }
+        }
+        if (flags != board.getMinesAround(row, col)) {
+            return 0;
+        }
+        long opened = 0;
+        for (long r = row - 1; r <= row + 1; r++) {
+            for (long c = col - 1; c <= col + 1; c++) {
+                if ((r == row && c == col) || !board.contains(r, c) || board.isOpen(r, c) || board.isFlagged(r, c)) {
+                    continue;
+                }
+                if (board.isMine(r, c)) {
+                    explode(r, c);
+                    return opened + 1;
+                }
+                opened += fill(r, c, false);
+                if (gameOver) {
+                    return opened;
+                }
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Opens a cell and the blank region around it like {@link com.example.minesweeper.FloodFill},
+     * with an explicit queue, stopping after {@code maxFill} cells.
+     * @param fromOpen True to spread from a cell that is already open.
+     */
+    private long fill(long row, long col, boolean fromOpen) {
+        queued = 0;
+        int limit = fromOpen ? maxFill + 1 : maxFill; // The open start cell is queued but not counted
+        if (fromOpen) {
+            enqueue(row, col);
+        } else {
+            tryOpen(row, col);
+        }
+        for (int head = 0; head < queued && queued < limit; head++) {
+            long r = queueRows[head];
+            long c = queueCols[head];
+            if (board.getMinesAround(r, c) != 0) {
+                continue; // Numbered cells form the border of the region
+            }
+            for (long nr = r - 1; nr <= r + 1; nr++) {
+                for (long nc = c - 1; nc <= c + 1; nc++) {
+                    if (queued < limit) {
+                        tryOpen(nr, nc); // The cell itself is already open and is skipped
+                    }
+                }
+            }
+        }
+        long opened = fromOpen ? queued - 1 : queued;
+        cellsOpen += opened;
+        checkGameEnd();
+        return opened;
+    }
+
+    private void tryOpen(long row, long col) {
+        if (!board.contains(row, col) || board.isOpen(row, col) || board.isFlagged(row, col) || board.isMine(row, col)) {
+            return;
+        }
+        board.setOpen(row, col);
+        enqueue(row, col);
+    }
+
+    private void enqueue(long row, long col) {
+        if (queued == queueRows.length) {
+            queueRows = Arrays.copyOf(queueRows, queued * 2);
+            queueCols = Arrays.copyOf(queueCols, queued * 2);
+        }
+        queueRows[queued] = row;
+        queueCols[queued] = col;
+        queued++;
+    }
+
+    private void explode(long row, long col) {
+        board.setOpen(row, col);
+        gameOver = true;
+    }
+
+    private void checkGameEnd() {
+        if (!board.isInfinite() && cellsOpen == board.size() - board.getTotalMines()) {
+            gameWon = true;
+            gameOver = true;
+        }
+    }
+
+    /**
+     * Cycles the mark of a closed cell: closed -> flag -> question mark -> closed.
+     * @return The new state of the cell.
+     */
+    public CellState handleRightClick(long row, long col) {
+        if (!board.contains(row, col)) {
+            return CellState.CLOSED;
+        }
+        CellState before = board.getState(row, col);
+        if (gameOver || firstClick || before == CellState.OPEN) {
+            return before; // Marks need the mines placed, so the first click comes first
+        }
+        if (before == CellState.FLAGGED) {
+            board.setQuestioned(row, col, true);
+            flagsPlaced--;
+        } else if (before == CellState.QUESTIONED) {
+            board.setQuestioned(row, col, false);
+        } else {
+            board.setFlagged(row, col, true);
+            flagsPlaced++;
+        }
+        return board.getState(row, col);
+    }
+
+    public ChunkedBoard getBoard() {
+        return board;
+    }
+
+    /** Returns the number of safe cells opened so far. */
+    public long getCellsOpen() {
+        return cellsOpen;
+    }
+
+    public long getFlagCount() {
+        return flagsPlaced;
+    }
+
+    public boolean isFirstClick() {
+        return firstClick;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isGameWon() {
+        return gameWon;
+    }
+}
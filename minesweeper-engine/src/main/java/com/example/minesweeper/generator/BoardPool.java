@@ -0,0 +1,214 @@
+package com.example.minesweeper.generator;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.BoardId;
+import com.example.minesweeper.MinesweeperGame;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The `BoardPool` keeps a bounded shelf of ready no-guess boards for every {@link BoardSpec},
+ * refilled in the background by a {@link NoGuessGenerator} on its own {@link ForkJoinPool}.
+ * <p>
+ * A board solvable from one first click is just as solvable from any blank cell that click opens,
+ * because clicking any of them opens the same area. Each shelved board remembers those start cells,
+ * so a first click only has to find a board that covers the clicked cell.
+ * New boards are generated for cells that no shelved board covers yet.
+ */
+public class BoardPool implements AutoCloseable {
+
+    /** Boards kept ready per board spec. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final int UNCOVERED_CELL_TRIES = 16; // Random picks when looking for a cell no board covers
+
+    private final ForkJoinPool pool;
+    private final NoGuessGenerator generator;
+    private final int capacity;
+    private final Map<BoardSpec, Shelf> shelves = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a pool that generates boards on all available cores.
+     */
+    public BoardPool() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CAPACITY);
+    }
+
+    public BoardPool(int parallelism, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.pool = new ForkJoinPool(parallelism); // Its workers are daemon threads and never keep the JVM alive
+        this.generator = new NoGuessGenerator(pool);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Starts filling the shelf for a kind of board in the background, if it is not full already.
+     */
+    public void prefill(BoardSpec spec) {
+        shelf(spec).refill();
+    }
+
+    /**
+     * Takes a ready board whose first click opens the given cell, and starts refilling the shelf.
+     * Never blocks.
+     * @return The board to play, or null if no shelved board fits this click.
+     */
+    public BoardId take(BoardSpec spec, int row, int col) {
+        Shelf shelf = shelf(spec);
+        BoardId boardId = shelf.take(row * spec.getCols() + col);
+        shelf.refill();
+        return boardId;
+    }
+
+    /** Returns the number of boards currently ready for a board spec. */
+    public int available(BoardSpec spec) {
+        return shelf(spec).size();
+    }
+
+    public NoGuessGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Stops generating. Boards already on the shelves can still be taken.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private Shelf shelf(BoardSpec spec) {
+        return shelves.computeIfAbsent(spec, Shelf::new);
+    }
+
+    /** A shelved board and the cells that can be clicked first to start it. */
+    private static final class Entry {
+
+        private final BoardId boardId;
+        private final BitSet startCells;
+
+        Entry(BoardId boardId, BitSet startCells) {
+            this.boardId = boardId;
+            this.startCells = startCells;
+        }
+    }
+
+    /** The bounded set of ready boards for one board spec. */
+    private final class Shelf {
+
+        private final BoardSpec spec;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>(capacity);
+        private final SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        private boolean refilling;
+        private boolean exhausted; // Set when the generator gives up, so an unsolvable spec is not retried forever
+
+        Shelf(BoardSpec spec) {
+            this.spec = spec;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized BoardId take(int cell) {
+            for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.startCells.get(cell)) {
+                    it.remove();
+                    return entry.boardId;
+                }
+            }
+            return null;
+        }
+
+        synchronized void refill() {
+            if (refilling || exhausted || entries.size() >= capacity || pool.isShutdown()) {
+                return;
+            }
+            refilling = true;
+            try {
+                pool.execute(this::fill);
+            } catch (RejectedExecutionException e) {
+                refilling = false; // The pool was closed in the meantime
+            }
+        }
+
+        private void fill() {
+            try {
+                while (!pool.isShutdown()) {
+                    int cell;
+                    synchronized (this) {
+                        if (entries.size() >= capacity) {
+                            return;
+                        }
+                        cell = pickUncoveredCell();
+                    }
+                    BoardId boardId = generator.generate(spec, cell / spec.getCols(), cell % spec.getCols());
+                    if (boardId == null) {
+                        synchronized (this) {
+                            exhausted = true;
+                        }
+                        return;
+                    }
+                    Entry entry = new Entry(boardId, startCells(boardId));
+                    synchronized (this) {
+                        entries.add(entry);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    refilling = false;
+                }
+            }
+        }
+
+        // Picks a random cell that no shelved board can start from, falling back to any random cell.
+        private int pickUncoveredCell() {
+            int size = spec.getRows() * spec.getCols();
+            int cell = 0;
+            for (int i = 0; i < UNCOVERED_CELL_TRIES; i++) {
+                cell = random.nextInt(size);
+                if (!covered(cell)) {
+                    break;
+                }
+            }
+            return cell;
+        }
+
+        private boolean covered(int cell) {
+            for (Entry entry : entries) {
+                if (entry.startCells.get(cell)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Replays the first click of a board and returns every blank cell it opens.
+     * Clicking any of them first opens exactly the same area, so each is an equivalent first click.
+     */
+    static BitSet startCells(BoardId boardId) {
+        MinesweeperGame game = MinesweeperGame.fromBoardId(boardId);
+        Board board = game.getBoard();
+        BitSet startCells = new BitSet(board.size());
+        for (int index = 0; index < board.size(); index++) {
+            if (board.isOpen(index) && board.getMinesAround(index) == 0) {
+                startCells.set(index);
+            }
+        }
+        startCells.set(board.index(boardId.getFirstClickRow(), boardId.getFirstClickCol()));
+        return startCells;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.minesweeper.generator;
+
+/**
+ * The size and mine count that identify a kind of board, such as one difficulty level.
+ * Used as the key of the per-difficulty shelves in a {@link BoardPool}.
+ */
+public final class BoardSpec {
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+
+    public BoardSpec(int rows, int cols, int mines) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        if (mines < 0 || mines >= rows * cols) {
+            throw new IllegalArgumentException("Invalid mine count for a " + rows + "x" + cols + " board: " + mines);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getMines() {
+        return mines;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardSpec)) {
+            return false;
+        }
+        BoardSpec other = (BoardSpec) o;
+        return rows == other.rows && cols == other.cols && mines == other.mines;
+    }
+
+    @Override
+    public int hashCode() {
+        return (rows * 31 + cols) * 31 + mines;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + "/" + mines;
+    }
+}
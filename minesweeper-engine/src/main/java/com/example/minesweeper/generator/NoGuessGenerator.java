@@ -0,0 +1,134 @@
+package com.example.minesweeper.generator;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.BoardId;
+import com.example.minesweeper.MinesweeperGame;
+import com.example.minesweeper.solver.MinesweeperSolver;
+import com.example.minesweeper.solver.SolverResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The `NoGuessGenerator` finds boards that can be won from a given first click without ever guessing.
+ * Candidate seeds are played out by a {@link MinesweeperSolver} that opens only cells it can prove safe;
+ * a candidate is kept if that wins the game. The search is split across every worker of a {@link ForkJoinPool},
+ * each with its own board, game and solver, and stops as soon as any worker finds a board.
+ * Generated boards always keep the neighbours of the first click clear, so the first click opens an area.
+ */
+public class NoGuessGenerator {
+
+    /** Candidates tried per call before giving up; dense boards are rarely solvable without guessing. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 20_000;
+
+    private final ForkJoinPool pool;
+    private final int maxAttempts;
+
+    public NoGuessGenerator(ForkJoinPool pool) {
+        this(pool, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public NoGuessGenerator(ForkJoinPool pool, int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Attempt limit must be positive: " + maxAttempts);
+        }
+        this.pool = pool;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Searches for a board that can be won without guessing, using every worker of the pool.
+     * Blocks until a board is found or all attempts are used up.
+     * @param spec The size and mine count of the board.
+     * @param firstRow The row of the first click.
+     * @param firstCol The column of the first click.
+     * @return The ID of a board whose first click is the given cell, or null if none was found.
+     */
+    public BoardId generate(BoardSpec spec, int firstRow, int firstCol) {
+        if (firstRow < 0 || firstRow >= spec.getRows() || firstCol < 0 || firstCol >= spec.getCols()) {
+            throw new IllegalArgumentException("First click outside the board: " + firstRow + "," + firstCol);
+        }
+        int workers = Math.max(1, pool.getParallelism());
+        int attemptsPerWorker = Math.max(1, maxAttempts / workers);
+        // Split the seed streams up front: SplittableRandom must not be shared between threads.
+        SplittableRandom seeds = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        AtomicReference<BoardId> found = new AtomicReference<>();
+        List<SearchTask> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(new SearchTask(spec, firstRow, firstCol, seeds.split(), attemptsPerWorker, found));
+        }
+        // Called from a worker (a pool refill), this helps run the tasks instead of blocking the worker.
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        return found.get();
+    }
+
+    /**
+     * Plays a game whose first click has been made, opening only cells the solver proves safe.
+     * @return True if this wins the game, false if a guess would be needed.
+     */
+    public static boolean solvesWithoutGuessing(MinesweeperGame game, MinesweeperSolver solver) {
+        Board board = game.getBoard();
+        while (!game.isGameOver()) {
+            SolverResult result = solver.solve(game);
+            if (result.getSafeCount() == 0) {
+                return false;
+            }
+            for (int i = 0; i < result.getSafeCount(); i++) {
+                int safe = result.getSafeCell(i);
+                if (!board.isOpen(safe)) {
+                    game.handleLeftClick(board.rowOf(safe), board.colOf(safe));
+                }
+            }
+        }
+        return game.isGameWon();
+    }
+
+    /** Tries seeds from one stream until a board is found here or by another task. */
+    @SuppressWarnings("serial") // Serializable only through ForkJoinTask; never serialized
+    private static final class SearchTask extends RecursiveAction {
+
+        private final BoardSpec spec;
+        private final int firstRow;
+        private final int firstCol;
+        private final SplittableRandom seeds;
+        private final int attempts;
+        private final AtomicReference<BoardId> found;
+
+        SearchTask(BoardSpec spec, int firstRow, int firstCol, SplittableRandom seeds, int attempts,
+                   AtomicReference<BoardId> found) {
+            this.spec = spec;
+            this.firstRow = firstRow;
+            this.firstCol = firstCol;
+            this.seeds = seeds;
+            this.attempts = attempts;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            // One board, game and solver per task, reused for every candidate.
+            MinesweeperGame game = new MinesweeperGame(new Board(spec.getRows(), spec.getCols()), spec.getMines(), 0);
+            game.setClearFirstClickNeighbours(true);
+            MinesweeperSolver solver = new MinesweeperSolver(spec.getRows(), spec.getCols());
+            for (int i = 0; i < attempts && found.get() == null; i++) {
+                game.resetGame(seeds.nextLong());
+                game.handleLeftClick(firstRow, firstCol);
+                if (solvesWithoutGuessing(game, solver)) {
+                    found.compareAndSet(null, game.getBoardId());
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.minesweeper.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named count that any thread can add to without contention.
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    public Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    public void reset() {
+        count.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + count.sum();
+    }
+}
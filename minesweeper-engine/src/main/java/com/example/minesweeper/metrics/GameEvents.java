@@ -0,0 +1,113 @@
+package com.example.minesweeper.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The JDK Flight Recorder events committed by {@link GameMetrics}. Each carries the measured time in
+ * {@code elapsed}, since the measurement starts before the event is created; stack traces are off, as the
+ * events come from a handful of known call sites. They are enabled by default in a recording, so
+ * {@code -XX:StartFlightRecording} with metrics enabled is all it takes to see them in JDK Mission Control.
+ */
+final class GameEvents {
+
+    private static final String CATEGORY = "Minesweeper";
+
+    private GameEvents() {
+    }
+
+    @Name("com.example.minesweeper.ClickToRender")
+    @Label("Click To Render")
+    @Description("A click on the board, until the frame that shows its result is laid out")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ClickToRender extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Changed Cells")
+        int changedCells;
+    }
+
+    @Name("com.example.minesweeper.FloodFill")
+    @Label("Flood Fill")
+    @Description("Cells opened by one click, from the clicked cell out to the numbered border")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class FloodFill extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Opened Cells")
+        int cells;
+    }
+
+    @Name("com.example.minesweeper.MinePlacement")
+    @Label("Mine Placement")
+    @Description("Placing and counting the mines of a board on the first click")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class MinePlacement extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Cells")
+        int cells;
+
+        @Label("Mines")
+        int mines;
+    }
+
+    @Name("com.example.minesweeper.UiUpdate")
+    @Label("UI Update")
+    @Description("Updating the board's nodes or scheduling its canvas repaint after a click")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class UiUpdate extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Changed Cells")
+        int changedCells;
+    }
+
+    @Name("com.example.minesweeper.RecordSave")
+    @Label("Record Save")
+    @Description("Adding a record to the leaderboard, from the request until it is in the leaderboard and queued")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RecordSave extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("com.example.minesweeper.RecordWrite")
+    @Label("Record Write")
+    @Description("Writing a batch of queued records to disk")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RecordWrite extends Event {
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Records")
+        int records;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.minesweeper.metrics;
+
+import java.util.List;
+
+/**
+ * Measures the gameplay hot paths: how long a click takes to show on screen, flood fills, mine placement,
+ * UI updates and record saves. Each measurement goes into a {@link Histogram} that can be read at any time,
+ * and into a {@link GameEvents JDK Flight Recorder event} when a recording is running.
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Dminesweeper.metrics=true}. {@link #ENABLED} is a
+ * constant, so when it is false the JIT removes the calls below along with their {@code System.nanoTime()}
+ * reads; headless simulations that play millions of games pay nothing for them.
+ * <p>
+ * A measurement is taken with {@link #start()} before the work and one of the {@code record...} methods after it.
+ */
+public final class GameMetrics {
+
+    /** True if the JVM was started with {@code -Dminesweeper.metrics=true}. */
+    public static final boolean ENABLED = Boolean.getBoolean("minesweeper.metrics");
+
+    public static final Histogram CLICK_TO_RENDER = new Histogram("click-to-render", "ns");
+    public static final Histogram FLOOD_FILL_TIME = new Histogram("flood-fill time", "ns");
+    public static final Histogram FLOOD_FILL_CELLS = new Histogram("flood-fill size", "cells");
+    public static final Histogram MINE_PLACEMENT = new Histogram("mine placement", "ns");
+    public static final Histogram UI_UPDATE = new Histogram("UI update", "ns");
+    public static final Histogram RECORD_SAVE = new Histogram("record save", "ns");
+    public static final Histogram RECORD_WRITE = new Histogram("record write", "ns");
+
+    public static final Counter GAMES_WON = new Counter("games won");
+    public static final Counter GAMES_LOST = new Counter("games lost");
+    public static final Counter NO_GUESS_FALLBACKS = new Counter("no-guess boards not found");
+    public static final Counter FIRST_CLICKS_PREPARED = new Counter("first clicks with prepared mines");
+    public static final Counter FIRST_CLICK_FALLBACKS = new Counter("first clicks placing their own mines");
+
+    private static final List<Histogram> HISTOGRAMS = List.of(CLICK_TO_RENDER, FLOOD_FILL_TIME, FLOOD_FILL_CELLS,
+            MINE_PLACEMENT, UI_UPDATE, RECORD_SAVE, RECORD_WRITE);
+    private static final List<Counter> COUNTERS = List.of(GAMES_WON, GAMES_LOST, NO_GUESS_FALLBACKS,
+            FIRST_CLICKS_PREPARED, FIRST_CLICK_FALLBACKS);
+
+    private GameMetrics() {
+    }
+
+    /** Returns the start time of a measurement, or 0 if metrics are disabled. */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a click from the moment it arrived until the frame that shows it was laid out.
+     * @param start The time the click arrived, from {@link #start()}.
+     */
+    public static void recordClickToRender(long start, int changedCells) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        CLICK_TO_RENDER.record(elapsed);
+        GameEvents.ClickToRender event = new GameEvents.ClickToRender();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.changedCells = changedCells;
+            event.commit();
+        }
+    }
+
+    public static void recordFloodFill(long start, int cells) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        FLOOD_FILL_TIME.record(elapsed);
+        FLOOD_FILL_CELLS.record(cells);
+        GameEvents.FloodFill event = new GameEvents.FloodFill();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.cells = cells;
+            event.commit();
+        }
+    }
+
+    public static void recordMinePlacement(long start, int cells, int mines) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        MINE_PLACEMENT.record(elapsed);
+        GameEvents.MinePlacement event = new GameEvents.MinePlacement();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.cells = cells;
+            event.mines = mines;
+            event.commit();
+        }
+    }
+
+    public static void recordUiUpdate(long start, int changedCells) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        UI_UPDATE.record(elapsed);
+        GameEvents.UiUpdate event = new GameEvents.UiUpdate();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.changedCells = changedCells;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a record being added, from the request until it is in the leaderboard.
+     * @param result How the leaderboard changed, such as {@code ADDED}.
+     */
+    public static void recordSave(long start, String difficulty, String result) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        RECORD_SAVE.record(elapsed);
+        GameEvents.RecordSave event = new GameEvents.RecordSave();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.difficulty = difficulty;
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    /** Records a batch of records being written to disk. */
+    public static void recordWrite(long start, int records) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        RECORD_WRITE.record(elapsed);
+        GameEvents.RecordWrite event = new GameEvents.RecordWrite();
+        if (event.isEnabled()) {
+            event.elapsed = elapsed;
+            event.records = records;
+            event.commit();
+        }
+    }
+
+    public static void recordGameEnd(boolean won) {
+        if (ENABLED) {
+            (won ? GAMES_WON : GAMES_LOST).increment();
+        }
+    }
+
+    public static void recordNoGuessFallback() {
+        if (ENABLED) {
+            NO_GUESS_FALLBACKS.increment();
+        }
+    }
+
+    /**
+     * Records how a first click got its mines when they were prepared in the background.
+     * @param prepared True if the prepared layout was ready, false if the click placed the mines itself.
+     */
+    public static void recordFirstClick(boolean prepared) {
+        if (ENABLED) {
+            (prepared ? FIRST_CLICKS_PREPARED : FIRST_CLICK_FALLBACKS).increment();
+        }
+    }
+
+    /** Returns every histogram, in a fixed order. */
+    public static List<Histogram> histograms() {
+        return HISTOGRAMS;
+    }
+
+    /** Returns every counter, in a fixed order. */
+    public static List<Counter> counters() {
+        return COUNTERS;
+    }
+
+    /** Returns one line per histogram and counter that has recorded something. */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (Histogram histogram : HISTOGRAMS) {
+            if (histogram.getCount() > 0) {
+                report.append(histogram).append(System.lineSeparator());
+            }
+        }
+        for (Counter counter : COUNTERS) {
+            if (counter.get() > 0) {
+                report.append(counter).append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    /** Sets every histogram and counter back to zero. */
+    public static void reset() {
+        HISTOGRAMS.forEach(Histogram::reset);
+        COUNTERS.forEach(Counter::reset);
+    }
+}
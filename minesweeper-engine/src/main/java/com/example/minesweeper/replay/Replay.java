@@ -0,0 +1,191 @@
+package com.example.minesweeper.replay;
+
+import com.example.minesweeper.BoardId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A `Replay` is the complete input of one game: the {@link BoardId} it was played on,
+ * then every left click, chord and right click with the nanosecond at which it was made.
+ * Events are delta-encoded: each one is an unsigned varint of the nanoseconds since the previous event,
+ * followed by a varint of the zigzag-encoded distance from the previous cell, shifted left by two
+ * with the event type in the low bits. A click a second after the last one on a nearby cell takes 6 bytes.
+ * <p>
+ * Replays are immutable; they are built by a {@link ReplayRecorder} and played by a {@link ReplayPlayer}.
+ */
+public final class Replay {
+
+    /** A left click on a closed cell. */
+    public static final int OPEN = 0;
+    /** A left click on an open cell, which chords if enough flags are around it. */
+    public static final int CHORD = 1;
+    /** A right click, which cycles the mark of a closed cell. */
+    public static final int MARK = 2;
+
+    private static final int MAGIC = 0x4D535250; // "MSRP"
+    private static final int VERSION = 1;
+
+    private final BoardId boardId;
+    private final long recordedAt;
+    private final boolean won;
+    private final int eventCount;
+    private final byte[] events;
+
+    Replay(BoardId boardId, long recordedAt, boolean won, int eventCount, byte[] events) {
+        this.boardId = boardId;
+        this.recordedAt = recordedAt;
+        this.won = won;
+        this.eventCount = eventCount;
+        this.events = events;
+    }
+
+    /** Returns the board the game was played on. */
+    public BoardId getBoardId() {
+        return boardId;
+    }
+
+    /** Returns when the game started, in milliseconds since the epoch. */
+    public long getRecordedAt() {
+        return recordedAt;
+    }
+
+    /** Returns true if the player reported the game as won; {@link ReplayPlayer#verify} checks it. */
+    public boolean isWon() {
+        return won;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /** Returns the size of the encoded events in bytes. */
+    public int getEventBytes() {
+        return events.length;
+    }
+
+    /** Returns a cursor over the events, from the first one. */
+    public EventReader events() {
+        return new EventReader();
+    }
+
+    /**
+     * Encodes this replay for storage.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(events.length + 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(boardId.toString());
+            out.writeLong(recordedAt);
+            out.writeBoolean(won);
+            out.writeInt(eventCount);
+            out.writeInt(events.length);
+            out.write(events);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen in memory
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a replay written by {@link #toBytes()}.
+     * @throws IOException If the data is not a replay.
+     */
+    public static Replay fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version: " + version);
+            }
+            BoardId boardId = BoardId.parse(in.readUTF());
+            long recordedAt = in.readLong();
+            boolean won = in.readBoolean();
+            int eventCount = in.readInt();
+            int length = in.readInt();
+            if (eventCount < 0 || length < 0 || length > in.available()) {
+                throw new IOException("Truncated replay");
+            }
+            byte[] events = new byte[length];
+            in.readFully(events);
+            return new Replay(boardId, recordedAt, won, eventCount, events);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid board ID in replay: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Steps through the events without allocating. Call {@link #next()} before reading each event.
+     */
+    public final class EventReader {
+        private int position;
+        private int read;
+        private long timeNanos;
+        private int cell;
+        private int type;
+
+        private EventReader() {
+        }
+
+        /**
+         * Moves to the next event.
+         * @return False once every event has been read.
+         * @throws IllegalStateException If the events are corrupt.
+         */
+        public boolean next() {
+            if (read == eventCount) {
+                return false;
+            }
+            timeNanos += readVarLong();
+            long packed = readVarLong();
+            type = (int) (packed & 3);
+            long delta = packed >>> 2;
+            cell += (int) ((delta >>> 1) ^ -(delta & 1)); // Zigzag back to a signed distance
+            read++;
+            return true;
+        }
+
+        /** Returns {@link #OPEN}, {@link #CHORD} or {@link #MARK}. */
+        public int type() {
+            return type;
+        }
+
+        /** Returns the row-major board index of the clicked cell. */
+        public int cell() {
+            return cell;
+        }
+
+        /** Returns the nanoseconds from the start of the game to this event. */
+        public long timeNanos() {
+            return timeNanos;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= events.length) {
+                    throw new IllegalStateException("Truncated replay events");
+                }
+                byte b = events[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed replay events");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Replay{" + boardId + ", " + eventCount + " events in " + events.length + " bytes"
+                + (won ? ", won" : "") + '}';
+    }
+}
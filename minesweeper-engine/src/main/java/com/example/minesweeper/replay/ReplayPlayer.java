@@ -0,0 +1,172 @@
+package com.example.minesweeper.replay;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.BoardChanges;
+import com.example.minesweeper.BoardId;
+import com.example.minesweeper.MinesweeperGame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The `ReplayPlayer` plays a {@link Replay} back on a headless {@link MinesweeperGame}, either as fast as
+ * possible or at the speed it was recorded. Because the board comes from the replay's {@link BoardId},
+ * playing the same clicks always gives the same game, which is how {@link #verify} checks a recorded win.
+ * <p>
+ * Usage: {@code ReplayPlayer <replay file> [claimed milliseconds] [--realtime]}
+ */
+public final class ReplayPlayer {
+
+    /**
+     * Receives every event after the game has handled it.
+     */
+    public interface EventListener {
+        void onEvent(int type, int row, int col, long timeNanos, BoardChanges changes);
+    }
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * Plays every event of a replay on a new game.
+     * @param realTime True to wait until each event's recorded time, false to play as fast as possible.
+     * @param listener Receives each event, or null.
+     * @return The game after the last event.
+     * @throws IllegalStateException If the events are corrupt or click outside the board.
+     * @throws InterruptedException If the thread is interrupted while waiting for an event in real time.
+     */
+    public static MinesweeperGame play(Replay replay, boolean realTime, EventListener listener) throws InterruptedException {
+        BoardId boardId = replay.getBoardId();
+        Board board = new Board(boardId.getRows(), boardId.getCols());
+        MinesweeperGame game = new MinesweeperGame(board, boardId.getMines(), boardId.getSeed());
+        game.placeMinesFrom(boardId); // The recorded first click lands on the cell the board was made for
+        long start = System.nanoTime();
+        Replay.EventReader events = replay.events();
+        while (events.next()) {
+            int cell = events.cell();
+            if (cell < 0 || cell >= board.size()) {
+                throw new IllegalStateException("Replay clicks outside the board: " + cell);
+            }
+            if (realTime) {
+                waitUntil(start + events.timeNanos());
+            }
+            int row = board.rowOf(cell);
+            int col = board.colOf(cell);
+            BoardChanges changes = events.type() == Replay.MARK
+                    ? game.handleRightClick(row, col)
+                    : game.handleLeftClick(row, col); // Opens or chords, as it did when recorded
+            if (listener != null) {
+                listener.onEvent(events.type(), row, col, events.timeNanos(), changes);
+            }
+        }
+        return game;
+    }
+
+    private static void waitUntil(long deadline) throws InterruptedException {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Checks that a replay is a genuine win in the claimed time: it plays back to a won game,
+     * the winning click is its last event, and the claimed time is not faster than that click.
+     * The application times the replay and the record from the same start and stops its timer
+     * after the winning click, so a genuine record is never under the click's millisecond.
+     * @param claimedMillis The time of the leaderboard record, in milliseconds.
+     */
+    public static Verdict verify(Replay replay, long claimedMillis) {
+        long[] winNanos = {-1}; // Set by the listener
+        MinesweeperGame game;
+        try {
+            game = play(replay, false, (type, row, col, timeNanos, changes) -> {
+                if (changes.isGameEnded() && winNanos[0] < 0) {
+                    winNanos[0] = timeNanos;
+                }
+            });
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return new Verdict(false, -1, "Replay cannot be played: " + e.getMessage());
+        } catch (InterruptedException e) {
+            throw new AssertionError(e); // Not waiting when playing as fast as possible
+        }
+        if (!game.isGameWon()) {
+            return new Verdict(false, -1, "Replay does not win the game");
+        }
+        if (!replay.isWon()) {
+            return new Verdict(false, winNanos[0], "Replay wins a game it was recorded as lost");
+        }
+        if (winNanos[0] != lastEventNanos(replay)) {
+            return new Verdict(false, winNanos[0], "Replay has clicks after the game ended");
+        }
+        long winMillis = winNanos[0] / 1_000_000L;
+        if (claimedMillis < winMillis) {
+            return new Verdict(false, winNanos[0], "Claimed " + claimedMillis + " ms, but the game was won after " + winMillis + " ms");
+        }
+        return new Verdict(true, winNanos[0], "Won after " + winMillis + " ms");
+    }
+
+    private static long lastEventNanos(Replay replay) {
+        Replay.EventReader events = replay.events();
+        long last = -1;
+        while (events.next()) {
+            last = events.timeNanos();
+        }
+        return last;
+    }
+
+    /**
+     * The outcome of {@link #verify}.
+     */
+    public static final class Verdict {
+        private final boolean genuine;
+        private final long winNanos;
+        private final String reason;
+
+        Verdict(boolean genuine, long winNanos, String reason) {
+            this.genuine = genuine;
+            this.winNanos = winNanos;
+            this.reason = reason;
+        }
+
+        public boolean isGenuine() {
+            return genuine;
+        }
+
+        /** Returns the time of the winning click in nanoseconds from the start, or -1 if the replay does not win. */
+        public long getWinNanos() {
+            return winNanos;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return (genuine ? "Genuine: " : "Rejected: ") + reason;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayPlayer <replay file> [claimed milliseconds] [--realtime]");
+            System.exit(1);
+        }
+        Replay replay = Replay.fromBytes(Files.readAllBytes(Path.of(args[0])));
+        boolean realTime = args[args.length - 1].equals("--realtime");
+        System.out.println(replay);
+        if (realTime) {
+            play(replay, true, (type, row, col, timeNanos, changes) -> System.out.printf("%10.3f s  %-5s %d,%d%n",
+                    timeNanos / 1e9, type == Replay.MARK ? "mark" : type == Replay.CHORD ? "chord" : "open", row, col));
+        }
+        long start = System.nanoTime();
+        Verdict verdict = verify(replay, args.length > 1 && !args[1].equals("--realtime")
+                ? Long.parseLong(args[1]) : Long.MAX_VALUE);
+        System.out.printf("%s (verified in %.3f ms)%n", verdict, (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.minesweeper.replay;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.BoardId;
+import com.example.minesweeper.MinesweeperGame;
+
+import java.util.Arrays;
+
+/**
+ * Records the clicks of one game into a {@link Replay}. Each click must be recorded just before
+ * it is passed to the game, so the recorder can tell an open from a chord by the state of the cell.
+ * Recording a click appends a few bytes to a buffer and allocates nothing once the buffer has grown.
+ * Must be used from the thread that plays the game.
+ */
+public final class ReplayRecorder {
+
+    private final MinesweeperGame game;
+    private final Board board;
+    private final long startNanos;
+    private final long recordedAt;
+    private byte[] buffer = new byte[256];
+    private int length;
+    private int eventCount;
+    private long lastNanos;
+    private int lastCell;
+
+    /**
+     * Starts recording a game, timing events from now. If the game already had its first click,
+     * as a game started from a board ID does, that click is recorded as the first event.
+     */
+    public ReplayRecorder(MinesweeperGame game) {
+        this(game, System.nanoTime());
+    }
+
+    /**
+     * Starts recording a game, timing events from the given {@link System#nanoTime()},
+     * such as the start of a {@link com.example.minesweeper.GameTimer}, so the replay and the game's record agree.
+     */
+    public ReplayRecorder(MinesweeperGame game, long startNanos) {
+        this.game = game;
+        this.board = game.getBoard();
+        this.startNanos = startNanos;
+        this.recordedAt = System.currentTimeMillis();
+        if (!game.isFirstClick()) {
+            BoardId boardId = game.getBoardId();
+            append(Replay.OPEN, board.index(boardId.getFirstClickRow(), boardId.getFirstClickCol()), System.nanoTime());
+        }
+    }
+
+    /** Records a left click, as an open or, on an open cell, a chord. */
+    public void recordLeftClick(int row, int col) {
+        int index = board.index(row, col);
+        append(board.isOpen(index) ? Replay.CHORD : Replay.OPEN, index, System.nanoTime());
+    }
+
+    /** Records a right click. */
+    public void recordRightClick(int row, int col) {
+        append(Replay.MARK, board.index(row, col), System.nanoTime());
+    }
+
+    /**
+     * Returns the replay of everything recorded so far, or null if the mines were never placed.
+     */
+    public Replay finish() {
+        BoardId boardId = game.getBoardId();
+        if (boardId == null) {
+            return null;
+        }
+        return new Replay(boardId, recordedAt, game.isGameWon(), eventCount, Arrays.copyOf(buffer, length));
+    }
+
+    private void append(int type, int cell, long nanos) {
+        if (length + 20 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2); // Room for two full varints
+        }
+        long elapsed = nanos - startNanos;
+        writeVarLong(Math.max(0, elapsed - lastNanos)); // nanoTime never goes back, but clamp anyway
+        lastNanos = Math.max(lastNanos, elapsed);
+        long delta = cell - lastCell;
+        writeVarLong(((delta << 1) ^ (delta >> 63)) << 2 | type); // Zigzag, so nearby cells take one byte
+        lastCell = cell;
+        eventCount++;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+}
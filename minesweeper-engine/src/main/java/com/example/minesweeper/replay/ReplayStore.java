@@ -0,0 +1,58 @@
+package com.example.minesweeper.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps replays as one small binary file each in a directory, named by the ID a
+ * {@link com.example.minesweeper.GameRecord} links to.
+ */
+public class ReplayStore {
+
+    private static final String EXTENSION = ".replay";
+    private static final Pattern ID = Pattern.compile("[0-9a-f-]{36}"); // A UUID, so an ID cannot name another path
+
+    private final Path directory;
+
+    public ReplayStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes a replay to a new file, through a temp file so a crash never leaves half a replay.
+     * @return The ID to load it with.
+     */
+    public String save(Replay replay) throws IOException {
+        Files.createDirectories(directory);
+        String id = UUID.randomUUID().toString();
+        Path temp = directory.resolve(id + EXTENSION + ".tmp");
+        Files.write(temp, replay.toBytes());
+        Files.move(temp, pathOf(id), StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * Reads a saved replay.
+     * @throws IOException If there is no such replay or it cannot be read.
+     */
+    public Replay load(String id) throws IOException {
+        return Replay.fromBytes(Files.readAllBytes(pathOf(id)));
+    }
+
+    /** Deletes a saved replay, if it exists. */
+    public void delete(String id) throws IOException {
+        Files.deleteIfExists(pathOf(id));
+    }
+
+    /** Returns the file a replay is stored in. */
+    public Path pathOf(String id) {
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Not a replay ID: " + id);
+        }
+        return directory.resolve(id + EXTENSION);
+    }
+}
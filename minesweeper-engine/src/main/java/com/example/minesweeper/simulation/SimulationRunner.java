@@ -0,0 +1,156 @@
+package com.example.minesweeper.simulation;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.MinesweeperGame;
+import com.example.minesweeper.solver.MinesweeperSolver;
+import com.example.minesweeper.solver.SolverResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The `SimulationRunner` plays large numbers of headless games with an automated player,
+ * to measure how a board size and mine count actually play: win rate, guesses and game length.
+ * <p>
+ * The player opens every cell the {@link MinesweeperSolver} proves safe and otherwise clicks its least risky guess.
+ * Games are split evenly across one worker per core. Each worker has its own board, game, solver,
+ * random generator and {@link SimulationStats}, so workers share nothing while playing;
+ * their totals are merged once at the end.
+ * <p>
+ * Usage: {@code SimulationRunner <easy|medium|hard|rows cols mines> [games] [threads] [seed]}
+ */
+public class SimulationRunner {
+
+    private static final long DEFAULT_GAMES = 1_000_000;
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int threads;
+
+    public SimulationRunner(int rows, int cols, int mines, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        new Board(rows, cols); // Validates the size
+        if (mines < 0 || mines >= rows * cols) {
+            throw new IllegalArgumentException("Invalid mine count for a " + rows + "x" + cols + " board: " + mines);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays the given number of games, first clicking the centre of each board.
+     * @param games The number of games to play.
+     * @param seed The seed all board seeds are derived from, so a run can be repeated.
+     * @return The merged totals of all workers.
+     */
+    public SimulationStats run(long games, long seed) throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<SimulationStats>> results = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                long share = games / threads + (i < games % threads ? 1 : 0);
+                SplittableRandom random = seeds.split(); // Split here: SplittableRandom is not thread-safe
+                results.add(executor.submit(() -> play(share, random)));
+            }
+            SimulationStats total = new SimulationStats();
+            for (Future<SimulationStats> result : results) {
+                total.merge(result.get());
+            }
+            total.setElapsedNanos(System.nanoTime() - start);
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Runs on one worker thread; everything it touches is its own.
+    private SimulationStats play(long games, SplittableRandom random) {
+        Board board = new Board(rows, cols);
+        MinesweeperGame game = new MinesweeperGame(board, mines, 0);
+        MinesweeperSolver solver = new MinesweeperSolver(rows, cols);
+        SimulationStats stats = new SimulationStats();
+        for (long i = 0; i < games; i++) {
+            game.resetGame(random.nextLong());
+            game.handleLeftClick(rows / 2, cols / 2);
+            int clicks = 1;
+            int guesses = 0;
+            while (!game.isGameOver()) {
+                SolverResult result = solver.solve(game);
+                if (result.getSafeCount() == 0) {
+                    int guess = result.getGuessCell();
+                    game.handleLeftClick(board.rowOf(guess), board.colOf(guess));
+                    clicks++;
+                    guesses++;
+                    continue;
+                }
+                for (int s = 0; s < result.getSafeCount(); s++) {
+                    int safe = result.getSafeCell(s);
+                    if (!board.isOpen(safe)) { // An earlier click in this batch may have opened it already
+                        game.handleLeftClick(board.rowOf(safe), board.colOf(safe));
+                        clicks++;
+                    }
+                }
+            }
+            stats.recordGame(game.isGameWon(), guesses, clicks);
+        }
+        return stats;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: SimulationRunner <easy|medium|hard|rows cols mines> [games] [threads] [seed]");
+            System.exit(1);
+        }
+        int rows;
+        int cols;
+        int mines;
+        int next;
+        // The presets match the difficulties offered by the application's start screen.
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "easy":
+                rows = cols = 10;
+                mines = 10;
+                next = 1;
+                break;
+            case "medium":
+                rows = cols = 12;
+                mines = 20;
+                next = 1;
+                break;
+            case "hard":
+                rows = cols = 14;
+                mines = 25;
+                next = 1;
+                break;
+            default:
+                rows = Integer.parseInt(args[0]);
+                cols = Integer.parseInt(args[1]);
+                mines = Integer.parseInt(args[2]);
+                next = 3;
+                break;
+        }
+        long games = args.length > next ? Long.parseLong(args[next]) : DEFAULT_GAMES;
+        int threads = args.length > next + 1 ? Integer.parseInt(args[next + 1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > next + 2 ? Long.parseLong(args[next + 2]) : System.nanoTime();
+
+        System.out.printf("Simulating %,d games on %dx%d with %d mines, %d threads, seed %d%n",
+                games, rows, cols, mines, threads, seed);
+        SimulationStats stats = new SimulationRunner(rows, cols, mines, threads).run(games, seed);
+        System.out.println(stats);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.minesweeper.simulation;
+
+/**
+ * Totals collected by a {@link SimulationRunner}. Every worker thread fills its own instance
+ * without synchronization, and the instances are merged once all games have finished.
+ */
+public class SimulationStats {
+
+    private long games;
+    private long wins;
+    private long guesses;        // Clicks on cells the player could not prove safe
+    private long guessFreeGames; // Games finished without a single guess
+    private long guessFreeWins;
+    private long clicks;         // Left clicks made, including the first click
+    private long maxClicks;
+    private long elapsedNanos;   // Wall-clock time of the whole run
+
+    void recordGame(boolean won, int gameGuesses, int gameClicks) {
+        games++;
+        if (won) {
+            wins++;
+        }
+        guesses += gameGuesses;
+        if (gameGuesses == 0) {
+            guessFreeGames++;
+            if (won) {
+                guessFreeWins++;
+            }
+        }
+        clicks += gameClicks;
+        maxClicks = Math.max(maxClicks, gameClicks);
+    }
+
+    void merge(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        guesses += other.guesses;
+        guessFreeGames += other.guessFreeGames;
+        guessFreeWins += other.guessFreeWins;
+        clicks += other.clicks;
+        maxClicks = Math.max(maxClicks, other.maxClicks);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /** Returns the average number of guesses per game. */
+    public double getGuessesPerGame() {
+        return games == 0 ? 0 : (double) guesses / games;
+    }
+
+    /** Returns the share of games that were finished without guessing. */
+    public double getGuessFreeRate() {
+        return games == 0 ? 0 : (double) guessFreeGames / games;
+    }
+
+    /** Returns the win rate of the games that needed no guess; below 1 only if the solver missed a deduction. */
+    public double getGuessFreeWinRate() {
+        return guessFreeGames == 0 ? 0 : (double) guessFreeWins / guessFreeGames;
+    }
+
+    /** Returns the average number of left clicks per game, a measure of how long games last. */
+    public double getClicksPerGame() {
+        return games == 0 ? 0 : (double) clicks / games;
+    }
+
+    public long getMaxClicks() {
+        return maxClicks;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d games in %.2f s (%,.0f games/s)%n"
+                        + "  win rate:          %.2f%%%n"
+                        + "  guesses per game:  %.3f%n"
+                        + "  guess-free games:  %.2f%% (won %.2f%% of them)%n"
+                        + "  clicks per game:   %.1f (max %d)",
+                games, elapsedNanos / 1e9, getGamesPerSecond(),
+                getWinRate() * 100,
+                getGuessesPerGame(),
+                getGuessFreeRate() * 100, getGuessFreeWinRate() * 100,
+                getClicksPerGame(), maxClicks);
+    }
+}
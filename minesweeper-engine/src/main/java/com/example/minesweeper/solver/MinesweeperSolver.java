@@ -0,0 +1,515 @@
+package com.example.minesweeper.solver;
+
+import com.example.minesweeper.Board;
+import com.example.minesweeper.MinesweeperGame;
+
+import java.util.Arrays;
+
+/**
+ * The `MinesweeperSolver` finds closed cells that are certainly safe or certainly mines,
+ * using only what the player can see: which cells are open and the numbers on them.
+ * Hidden mines and the player's own flags are never read.
+ * <p>
+ * Deductions are made in three stages, each tried only when the previous one finds nothing:
+ * <ol>
+ *     <li>Single-cell rules: a number whose remaining mines are zero, or equal to its closed neighbours.</li>
+ *     <li>Subset rules: when the closed neighbours of one number are a subset of another's,
+ *     the difference holds exactly the difference of their remaining mines.</li>
+ *     <li>Exact enumeration of every connected frontier component: a cell that is a mine in none,
+ *     or all, of the consistent assignments is certain.</li>
+ * </ol>
+ * All work arrays are allocated once per board size, so solving produces no garbage.
+ * An instance is not thread-safe.
+ */
+public class MinesweeperSolver {
+
+    /** Frontier components with more closed cells than this are not enumerated by default. */
+    public static final int DEFAULT_MAX_COMPONENT_SIZE = 48;
+    private static final long MAX_ENUMERATION_NODES = 1L << 20; // Search budget per component
+
+    private static final byte UNKNOWN = 0; // Closed, nothing deduced yet
+    private static final byte SAFE = 1;    // Closed, certainly safe
+    private static final byte MINE = 2;    // Closed, certainly a mine
+    private static final byte OPEN = 3;    // Opened by the player
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final byte[] status;
+    private final SolverResult result;
+    private int maxComponentSize = DEFAULT_MAX_COMPONENT_SIZE;
+
+    // --- Constraints: one per open number that still touches unknown cells ---
+    private final int[] constraintOf;       // Cell -> constraint id, or -1
+    private final int[] constraintCell;     // Constraint id -> cell index
+    private final int[] constraintVars;     // Constraint id * 8 + k -> k-th unknown neighbour
+    private final int[] constraintVarCount;
+    private final int[] constraintNeed;     // Mines still missing among the unknown neighbours
+    private int constraintCount;
+
+    // --- Enumeration of frontier components ---
+    private final int[] varOf;              // Cell -> variable id, or -1
+    private final int[] varCell;            // Variable id -> cell index
+    private final int[] varConstraints;     // Variable id * 8 + k -> k-th constraint touching it
+    private final int[] varConstraintCount;
+    private final byte[] assignment;        // Variable id -> 0 or 1 while enumerating
+    private final long[] mineSolutions;     // Variable id -> solutions in which it is a mine
+    private final int[] constraintComponent; // Constraint id -> component stamp, or -1
+    private final int[] assignedMines;      // Constraint id -> mines assigned so far
+    private final int[] unassigned;         // Constraint id -> neighbours not assigned yet
+    private final int[] constraintQueue;
+    private int varCount;
+    private int componentStart;             // First variable of the component being enumerated
+    private long solutions;
+    private long nodes;
+
+    // --- Guessing ---
+    private int bestFrontierCell;
+    private double bestFrontierProbability;
+    private double expectedFrontierMines;
+    private int enumeratedCells;
+
+    public MinesweeperSolver(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        this.status = new byte[size];
+        this.result = new SolverResult(size);
+        this.constraintOf = new int[size];
+        this.constraintCell = new int[size];
+        this.constraintVars = new int[size * 8];
+        this.constraintVarCount = new int[size];
+        this.constraintNeed = new int[size];
+        this.varOf = new int[size];
+        this.varCell = new int[size];
+        this.varConstraints = new int[size * 8];
+        this.varConstraintCount = new int[size];
+        this.assignment = new byte[size];
+        this.mineSolutions = new long[size];
+        this.constraintComponent = new int[size];
+        this.assignedMines = new int[size];
+        this.unassigned = new int[size];
+        this.constraintQueue = new int[size];
+        Arrays.fill(constraintOf, -1);
+        Arrays.fill(varOf, -1);
+    }
+
+    /**
+     * Limits exact enumeration to frontier components of at most this many closed cells.
+     * Larger components are left to the cheaper rules.
+     */
+    public void setMaxComponentSize(int maxComponentSize) {
+        this.maxComponentSize = maxComponentSize;
+    }
+
+    /**
+     * Solves the visible state of a game.
+     * @see #solve(Board, int)
+     */
+    public SolverResult solve(MinesweeperGame game) {
+        return solve(game.getBoard(), game.getTotalMines());
+    }
+
+    /**
+     * Finds every closed cell whose content follows from the open cells.
+     * @param board The board to read; only open cells and their numbers are used.
+     * @param totalMines The number of mines on the board, used to estimate guesses.
+     * @return The deductions; the instance is reused by the next call.
+     */
+    public SolverResult solve(Board board, int totalMines) {
+        if (board.getRows() != rows || board.getCols() != cols) {
+            throw new IllegalArgumentException("Solver is sized for " + rows + "x" + cols + ", board is "
+                    + board.getRows() + "x" + board.getCols());
+        }
+        result.clear();
+        for (int index = 0; index < size; index++) {
+            status[index] = board.isOpen(index) ? OPEN : UNKNOWN;
+        }
+
+        boolean frontierEstimated = false; // True if the last enumeration saw the final state
+        while (true) {
+            buildConstraints(board);
+            if (constraintCount == 0) {
+                break;
+            }
+            if (applySingleCellRules() || applySubsetRules() || enumerateComponents()) {
+                continue;
+            }
+            frontierEstimated = true;
+            break;
+        }
+        clearConstraints();
+
+        int knownMines = 0;
+        for (int index = 0; index < size; index++) {
+            if (status[index] == SAFE) {
+                result.addSafe(index);
+            } else if (status[index] == MINE) {
+                result.addMine(index);
+                knownMines++;
+            }
+        }
+        if (result.getSafeCount() == 0) {
+            chooseGuess(board, totalMines, knownMines, frontierEstimated);
+        }
+        return result;
+    }
+
+    // --- Constraints ---
+
+    private void buildConstraints(Board board) {
+        clearConstraints();
+        for (int index = 0; index < size; index++) {
+            if (status[index] != OPEN) {
+                continue;
+            }
+            int count = board.getMinesAround(index);
+            if (count == 0) {
+                continue;
+            }
+            int id = constraintCount;
+            int vars = 0;
+            int mines = 0;
+            int r = index / cols;
+            int c = index % cols;
+            for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                    int neighbor = nr * cols + nc;
+                    if (status[neighbor] == UNKNOWN) {
+                        constraintVars[id * 8 + vars++] = neighbor;
+                    } else if (status[neighbor] == MINE) {
+                        mines++;
+                    }
+                }
+            }
+            if (vars == 0) {
+                continue; // Fully resolved number
+            }
+            constraintOf[index] = id;
+            constraintCell[id] = index;
+            constraintVarCount[id] = vars;
+            constraintNeed[id] = count - mines;
+            constraintCount++;
+        }
+    }
+
+    private void clearConstraints() {
+        for (int id = 0; id < constraintCount; id++) {
+            constraintOf[constraintCell[id]] = -1;
+        }
+        constraintCount = 0;
+    }
+
+    private boolean mark(int index, byte value) {
+        if (status[index] != UNKNOWN) {
+            return false;
+        }
+        status[index] = value;
+        return true;
+    }
+
+    // --- Stage 1: single-cell rules ---
+
+    private boolean applySingleCellRules() {
+        boolean changed = false;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int id = 0; id < constraintCount; id++) {
+                int base = id * 8;
+                int unknown = 0;
+                int mines = 0;
+                for (int k = 0; k < constraintVarCount[id]; k++) {
+                    byte s = status[constraintVars[base + k]];
+                    if (s == UNKNOWN) {
+                        unknown++;
+                    } else if (s == MINE) {
+                        mines++;
+                    }
+                }
+                if (unknown == 0) {
+                    continue;
+                }
+                int remaining = constraintNeed[id] - mines;
+                byte value;
+                if (remaining == 0) {
+                    value = SAFE; // All mines around this number are known
+                } else if (remaining == unknown) {
+                    value = MINE; // Every unknown neighbour must be a mine
+                } else {
+                    continue;
+                }
+                for (int k = 0; k < constraintVarCount[id]; k++) {
+                    progress |= mark(constraintVars[base + k], value);
+                }
+            }
+            changed |= progress;
+        }
+        return changed;
+    }
+
+    // --- Stage 2: subset rules ---
+
+    private boolean applySubsetRules() {
+        boolean changed = false;
+        for (int a = 0; a < constraintCount; a++) {
+            int cell = constraintCell[a];
+            int r = cell / cols;
+            int c = cell % cols;
+            // Constraints sharing a neighbour lie within two cells of each other.
+            for (int nr = Math.max(r - 2, 0); nr <= Math.min(r + 2, rows - 1); nr++) {
+                for (int nc = Math.max(c - 2, 0); nc <= Math.min(c + 2, cols - 1); nc++) {
+                    int b = constraintOf[nr * cols + nc];
+                    if (b < 0 || b == a || constraintVarCount[a] >= constraintVarCount[b] || !isSubset(a, b)) {
+                        continue;
+                    }
+                    int need = constraintNeed[b] - constraintNeed[a];
+                    int extra = constraintVarCount[b] - constraintVarCount[a];
+                    byte value;
+                    if (need == 0) {
+                        value = SAFE;
+                    } else if (need == extra) {
+                        value = MINE;
+                    } else {
+                        continue;
+                    }
+                    for (int k = 0; k < constraintVarCount[b]; k++) {
+                        int var = constraintVars[b * 8 + k];
+                        if (!contains(a, var)) {
+                            changed |= mark(var, value);
+                        }
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean isSubset(int a, int b) {
+        for (int k = 0; k < constraintVarCount[a]; k++) {
+            if (!contains(b, constraintVars[a * 8 + k])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean contains(int constraint, int cell) {
+        int base = constraint * 8;
+        for (int k = 0; k < constraintVarCount[constraint]; k++) {
+            if (constraintVars[base + k] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Stage 3: exact enumeration of frontier components ---
+
+    private boolean enumerateComponents() {
+        boolean changed = false;
+        bestFrontierCell = -1;
+        bestFrontierProbability = 1;
+        expectedFrontierMines = 0;
+        enumeratedCells = 0;
+        for (int id = 0; id < constraintCount; id++) {
+            constraintComponent[id] = -1;
+        }
+        varCount = 0;
+
+        for (int start = 0; start < constraintCount; start++) {
+            if (constraintComponent[start] >= 0) {
+                continue;
+            }
+            int firstVar = varCount;
+            collectComponent(start);
+            int componentVars = varCount - firstVar;
+            if (componentVars <= maxComponentSize && enumerate(firstVar)) {
+                changed |= applyComponentResults(firstVar);
+            }
+        }
+
+        for (int v = 0; v < varCount; v++) {
+            varOf[varCell[v]] = -1;
+        }
+        return changed;
+    }
+
+    /**
+     * Collects the constraints and unknown cells connected to a starting constraint,
+     * numbering the cells in breadth-first order so neighbouring cells are assigned together.
+     */
+    private void collectComponent(int start) {
+        int head = 0;
+        int tail = 0;
+        constraintQueue[tail++] = start;
+        constraintComponent[start] = start;
+        while (head < tail) {
+            int id = constraintQueue[head++];
+            assignedMines[id] = 0;
+            unassigned[id] = constraintVarCount[id];
+            for (int k = 0; k < constraintVarCount[id]; k++) {
+                int cell = constraintVars[id * 8 + k];
+                if (varOf[cell] >= 0) {
+                    continue;
+                }
+                int var = varCount++;
+                varOf[cell] = var;
+                varCell[var] = cell;
+                mineSolutions[var] = 0;
+                // Every open number next to this cell is a constraint containing it.
+                int count = 0;
+                int r = cell / cols;
+                int c = cell % cols;
+                for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                    for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                        int other = constraintOf[nr * cols + nc];
+                        if (other < 0) {
+                            continue;
+                        }
+                        varConstraints[var * 8 + count++] = other;
+                        if (constraintComponent[other] < 0) {
+                            constraintComponent[other] = start;
+                            constraintQueue[tail++] = other;
+                        }
+                    }
+                }
+                varConstraintCount[var] = count;
+            }
+        }
+    }
+
+    private boolean enumerate(int firstVar) {
+        componentStart = firstVar;
+        solutions = 0;
+        nodes = 0;
+        search(firstVar);
+        if (nodes > MAX_ENUMERATION_NODES) {
+            return false; // Gave up; the component is left undecided
+        }
+        return solutions > 0;
+    }
+
+    private void search(int var) {
+        if (++nodes > MAX_ENUMERATION_NODES) {
+            return;
+        }
+        if (var == varCount) {
+            solutions++;
+            for (int v = componentStart; v < varCount; v++) {
+                mineSolutions[v] += assignment[v];
+            }
+            return;
+        }
+        for (byte value = 0; value <= 1; value++) {
+            if (!fits(var, value)) {
+                continue;
+            }
+            assign(var, value, 1);
+            search(var + 1);
+            assign(var, value, -1);
+            if (nodes > MAX_ENUMERATION_NODES) {
+                return;
+            }
+        }
+    }
+
+    private boolean fits(int var, byte value) {
+        for (int k = 0; k < varConstraintCount[var]; k++) {
+            int id = varConstraints[var * 8 + k];
+            int mines = assignedMines[id] + value;
+            int left = unassigned[id] - 1;
+            if (mines > constraintNeed[id] || mines + left < constraintNeed[id]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void assign(int var, byte value, int direction) {
+        assignment[var] = value;
+        for (int k = 0; k < varConstraintCount[var]; k++) {
+            int id = varConstraints[var * 8 + k];
+            assignedMines[id] += value * direction;
+            unassigned[id] -= direction;
+        }
+    }
+
+    private boolean applyComponentResults(int firstVar) {
+        boolean changed = false;
+        for (int v = firstVar; v < varCount; v++) {
+            int cell = varCell[v];
+            if (mineSolutions[v] == 0) {
+                changed |= mark(cell, SAFE);
+            } else if (mineSolutions[v] == solutions) {
+                changed |= mark(cell, MINE);
+            } else {
+                double probability = (double) mineSolutions[v] / solutions;
+                expectedFrontierMines += probability;
+                enumeratedCells++;
+                if (probability < bestFrontierProbability) {
+                    bestFrontierProbability = probability;
+                    bestFrontierCell = cell;
+                }
+            }
+        }
+        return changed;
+    }
+
+    // --- Guessing ---
+
+    private void chooseGuess(Board board, int totalMines, int knownMines, boolean frontierEstimated) {
+        // Cells away from every number share the mines the frontier does not account for.
+        int interiorCell = -1;
+        int interiorCells = 0;
+        int unknownCells = 0;
+        for (int index = 0; index < size; index++) {
+            if (status[index] != UNKNOWN) {
+                continue;
+            }
+            unknownCells++;
+            if (!touchesOpenNumber(board, index)) {
+                interiorCells++;
+                if (interiorCell < 0) {
+                    interiorCell = index;
+                }
+            }
+        }
+        if (unknownCells == 0) {
+            return;
+        }
+        boolean frontierKnown = frontierEstimated && bestFrontierCell >= 0;
+        double frontierMines = frontierKnown ? expectedFrontierMines : 0;
+        int otherCells = unknownCells - (frontierKnown ? enumeratedCells : 0);
+        double otherProbability = otherCells > 0
+                ? Math.max(0, Math.min(1, (totalMines - knownMines - frontierMines) / otherCells))
+                : 1;
+
+        if (frontierKnown && (interiorCell < 0 || bestFrontierProbability <= otherProbability)) {
+            result.setGuess(bestFrontierCell, bestFrontierProbability);
+        } else if (interiorCell >= 0) {
+            result.setGuess(interiorCell, otherProbability);
+        } else {
+            // Only frontier cells of components too large to enumerate are left.
+            for (int index = 0; index < size; index++) {
+                if (status[index] == UNKNOWN) {
+                    result.setGuess(index, otherProbability);
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean touchesOpenNumber(Board board, int index) {
+        int r = index / cols;
+        int c = index % cols;
+        for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+            for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                if (status[nr * cols + nc] == OPEN) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
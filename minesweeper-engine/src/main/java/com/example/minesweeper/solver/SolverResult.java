@@ -0,0 +1,80 @@
+package com.example.minesweeper.solver;
+
+/**
+ * The outcome of one {@link MinesweeperSolver#solve} call: the closed cells that are certainly safe,
+ * the closed cells that are certainly mines, and, when nothing is certainly safe, the least risky guess.
+ * One instance is reused by its solver and is only valid until the next call.
+ */
+public class SolverResult {
+
+    private final int[] safeCells;
+    private int safeCount;
+    private final int[] mineCells;
+    private int mineCount;
+    private int guessCell = -1;
+    private double guessMineProbability;
+
+    SolverResult(int boardSize) {
+        this.safeCells = new int[boardSize];
+        this.mineCells = new int[boardSize];
+    }
+
+    void clear() {
+        safeCount = 0;
+        mineCount = 0;
+        guessCell = -1;
+        guessMineProbability = 0;
+    }
+
+    void addSafe(int index) {
+        safeCells[safeCount++] = index;
+    }
+
+    void addMine(int index) {
+        mineCells[mineCount++] = index;
+    }
+
+    void setGuess(int index, double mineProbability) {
+        guessCell = index;
+        guessMineProbability = mineProbability;
+    }
+
+    /** Returns the number of closed cells that are certainly safe. */
+    public int getSafeCount() {
+        return safeCount;
+    }
+
+    /** Returns the board index of the i-th certainly safe cell. */
+    public int getSafeCell(int i) {
+        if (i < 0 || i >= safeCount) {
+            throw new IndexOutOfBoundsException("Safe cell " + i + " out of " + safeCount);
+        }
+        return safeCells[i];
+    }
+
+    /** Returns the number of closed cells that are certainly mines. */
+    public int getMineCount() {
+        return mineCount;
+    }
+
+    /** Returns the board index of the i-th certain mine. */
+    public int getMineCell(int i) {
+        if (i < 0 || i >= mineCount) {
+            throw new IndexOutOfBoundsException("Mine cell " + i + " out of " + mineCount);
+        }
+        return mineCells[i];
+    }
+
+    /**
+     * Returns the closed cell least likely to be a mine when no cell is certainly safe,
+     * or -1 if there are safe cells or no closed cell is left.
+     */
+    public int getGuessCell() {
+        return guessCell;
+    }
+
+    /** Returns the estimated probability that {@link #getGuessCell()} is a mine. */
+    public double getGuessMineProbability() {
+        return guessMineProbability;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.minesweeper;
+
+import com.example.minesweeper.replay.Replay;
+import com.example.minesweeper.replay.ReplayRecorder;
+import com.example.minesweeper.replay.ReplayStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the {@code ...Async} methods of {@link DataManager} never block the calling thread and that every
+ * store and replay access happens on the {@code records-io} thread, as the UI relies on.
+ */
+class DataManagerTest {
+
+    private static final String IO_THREAD = "records-io";
+    private static final long CALL_BUDGET_MS = 500;
+    private static final long LOAD_HOLD_SECONDS = 5; // Then a call that waits for loading returns late and fails
+
+    @TempDir
+    Path directory;
+
+    private final List<String> accesses = Collections.synchronizedList(new ArrayList<>()); // "method on thread"
+    private final CountDownLatch loadReleased = new CountDownLatch(1);
+    private DataManager dataManager;
+
+    @AfterEach
+    void close() {
+        loadReleased.countDown();
+        if (dataManager != null) {
+            dataManager.close();
+        }
+    }
+
+    @Test
+    void asyncCallsDoTheirIoOnTheRecordsThread() throws Exception {
+        dataManager = new DataManager(new WatchedRecordStore(), new WatchedReplayStore(directory.resolve("replays")));
+        Path imported = directory.resolve("import.json");
+        Files.writeString(imported, "[{\"playerName\":\"Carol\",\"difficulty\":\"Easy\",\"timeInMillis\":9000}]");
+
+        // Loading is held back, so any call that waits for it, or does its work on this thread, overruns the budget.
+        CompletableFuture.delayedExecutor(LOAD_HOLD_SECONDS, TimeUnit.SECONDS).execute(loadReleased::countDown);
+        long start = System.nanoTime();
+        CompletableFuture<Leaderboard.AddResult> added = dataManager.addRecordAsync(GameRecord.ofMillis("Alice", "Easy", 12_000));
+        CompletableFuture<Leaderboard.AddResult> addedWithReplay = dataManager.addRecordAsync(
+                GameRecord.ofMillis("Bob", "Easy", 15_000), wonReplay());
+        CompletableFuture<List<GameRecord>> best = dataManager.getBestRecordsAsync("Easy", 10);
+        CompletableFuture<List<GameRecord>> page = dataManager.getRecordsAfterAsync("Easy", null, 10);
+        CompletableFuture<GameRecord> player = dataManager.getPlayerBestRecordAsync("Bob", "Easy");
+        CompletableFuture<Integer> importCount = dataManager.importRecordsAsync(imported);
+        CompletableFuture<Integer> exportCount = dataManager.exportRecordsAsync(directory.resolve("export.json"));
+        CompletableFuture<Void> flushed = dataManager.flush();
+        long callMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(callMillis < CALL_BUDGET_MS, "Async calls blocked the caller for " + callMillis + " ms");
+        assertFalse(added.isDone() || best.isDone() || page.isDone() || flushed.isDone(), "Work ran before loading finished");
+        assertTrue(accesses.stream().allMatch(access -> access.equals("load on " + IO_THREAD)), accesses.toString());
+
+        loadReleased.countDown();
+        assertEquals(Leaderboard.AddResult.ADDED, added.get(10, TimeUnit.SECONDS));
+        assertEquals(Leaderboard.AddResult.ADDED, addedWithReplay.get(10, TimeUnit.SECONDS));
+        assertEquals(2, best.get(10, TimeUnit.SECONDS).size());
+        assertEquals(2, page.get(10, TimeUnit.SECONDS).size());
+        GameRecord bob = player.get(10, TimeUnit.SECONDS);
+        assertNotNull(bob.getReplayId());
+        assertEquals(1, (int) importCount.get(10, TimeUnit.SECONDS));
+        assertEquals(3, (int) exportCount.get(10, TimeUnit.SECONDS));
+        flushed.get(10, TimeUnit.SECONDS);
+        assertNotNull(dataManager.getReplayAsync(bob).get(10, TimeUnit.SECONDS));
+        dataManager.close(); // Waits, but the store must still be closed on the records thread
+        dataManager = null;
+
+        assertTrue(accesses.contains("save on " + IO_THREAD), "The queued records were never saved: " + accesses);
+        assertTrue(accesses.contains("replay save on " + IO_THREAD), accesses.toString());
+        assertTrue(accesses.contains("replay load on " + IO_THREAD), accesses.toString());
+        assertTrue(accesses.contains("close on " + IO_THREAD), accesses.toString());
+        for (String access : accesses) {
+            assertTrue(access.endsWith(" on " + IO_THREAD), "Store accessed off the records thread: " + access);
+        }
+    }
+
+    private Replay wonReplay() {
+        MinesweeperGame game = new MinesweeperGame(new Board(5, 5), 1, 3);
+        ReplayRecorder recorder = new ReplayRecorder(game);
+        recorder.recordLeftClick(2, 2);
+        game.handleLeftClick(2, 2);
+        return recorder.finish();
+    }
+
+    private void recordAccess(String method) {
+        accesses.add(method + " on " + Thread.currentThread().getName());
+    }
+
+    /** Stores nothing and notes the thread of every call. Loading waits until the test releases it. */
+    private final class WatchedRecordStore implements RecordStore {
+        @Override
+        public void load(Consumer<GameRecord> consumer) {
+            recordAccess("load");
+            try {
+                loadReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void save(List<GameRecord> changed, Collection<GameRecord> allRecords) {
+            recordAccess("save");
+        }
+
+        @Override
+        public void close() {
+            recordAccess("close");
+        }
+    }
+
+    private final class WatchedReplayStore extends ReplayStore {
+        WatchedReplayStore(Path directory) {
+            super(directory);
+        }
+
+        @Override
+        public String save(Replay replay) throws IOException {
+            recordAccess("replay save");
+            return super.save(replay);
+        }
+
+        @Override
+        public Replay load(String id) throws IOException {
+            recordAccess("replay load");
+            return super.load(id);
+        }
+
+        @Override
+        public void delete(String id) throws IOException {
+            recordAccess("replay delete");
+            super.delete(id);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the iterative {@link FloodFill} against the recursive fill it replaced, on random boards with random
+ * flags, question marks and cells opened beforehand.
+ */
+class FloodFillTest {
+
+    private static final int BOARDS = 2000;
+    private static final int FILLS_PER_BOARD = 8;
+
+    @Test
+    void opensTheSameCellsAsTheRecursiveFill() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int b = 0; b < BOARDS; b++) {
+            int rows = 1 + random.nextInt(40);
+            int cols = 1 + random.nextInt(40);
+            Board board = randomBoard(rows, cols, random);
+            Board reference = copyOf(board);
+            FloodFill floodFill = new FloodFill(board);
+            int cellsOpen = 0;
+            int[] referenceCellsOpen = {0};
+
+            for (int fill = 0; fill < FILLS_PER_BOARD; fill++) {
+                int row = random.nextInt(rows + 2) - 1; // Out-of-bounds starts must open nothing
+                int col = random.nextInt(cols + 2) - 1;
+                BitSet openBefore = openCells(board);
+
+                int opened = floodFill.fill(row, col);
+                cellsOpen += opened;
+                openRecursively(reference, row, col, referenceCellsOpen);
+
+                String at = "board " + b + " (" + rows + "x" + cols + "), fill at " + row + "," + col;
+                assertEquals(openCells(reference), openCells(board), "Opened cells differ on " + at);
+                assertEquals(referenceCellsOpen[0], cellsOpen, "Opened cell count differs on " + at);
+
+                BitSet listed = new BitSet(board.size());
+                for (int i = 0; i < opened; i++) {
+                    int index = floodFill.openedCell(i);
+                    assertTrue(!openBefore.get(index) && !listed.get(index), "Cell " + index + " listed twice on " + at);
+                    listed.set(index);
+                }
+                BitSet newlyOpen = openCells(board);
+                newlyOpen.andNot(openBefore);
+                assertEquals(newlyOpen, listed, "Listed cells differ from the opened ones on " + at);
+            }
+        }
+    }
+
+    @Test
+    void gameCountsEveryOpenedSafeCell() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int g = 0; g < 500; g++) {
+            int rows = 2 + random.nextInt(30);
+            int cols = 2 + random.nextInt(30);
+            int mines = random.nextInt(rows * cols / 3 + 1);
+            MinesweeperGame game = new MinesweeperGame(new Board(rows, cols), mines, g);
+            for (int click = 0; click < 40 && !game.isGameOver(); click++) {
+                int row = random.nextInt(rows);
+                int col = random.nextInt(cols);
+                if (random.nextInt(5) == 0) {
+                    game.handleRightClick(row, col);
+                } else {
+                    game.handleLeftClick(row, col);
+                }
+                if (!game.isGameOver()) {
+                    assertEquals(countOpenSafeCells(game.getBoard()), game.getCellsOpen(), "Game " + g + " after click " + click);
+                }
+            }
+        }
+    }
+
+    // The recursive fill from before FloodFill, on a Board instead of a Cell grid.
+    private static void openRecursively(Board board, int r, int c, int[] cellsOpen) {
+        if (!board.contains(r, c)) {
+            return;
+        }
+        int index = board.index(r, c);
+        if (board.isOpen(index) || board.isFlagged(index) || board.isMine(index)) {
+            return;
+        }
+        board.setOpen(index, true);
+        cellsOpen[0]++;
+        if (board.getMinesAround(index) == 0) {
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (dr != 0 || dc != 0) {
+                        openRecursively(board, r + dr, c + dc, cellsOpen);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Board randomBoard(int rows, int cols, SplittableRandom random) {
+        Board board = new Board(rows, cols);
+        double density = random.nextDouble() * 0.3;
+        double marks = random.nextDouble() * 0.1;
+        for (int index = 0; index < board.size(); index++) {
+            if (random.nextDouble() < density) {
+                board.setMine(index, true);
+            }
+        }
+        for (int index = 0; index < board.size(); index++) {
+            board.setMinesAround(index, countMinesAround(board, board.rowOf(index), board.colOf(index)));
+            double roll = random.nextDouble();
+            if (roll < marks) {
+                board.setFlagged(index, true);
+            } else if (roll < 2 * marks) {
+                board.setQuestioned(index, true); // Question marks do not stop the fill
+            } else if (roll < 3 * marks && !board.isMine(index)) {
+                board.setOpen(index, true);
+            }
+        }
+        return board;
+    }
+
+    private static int countMinesAround(Board board, int row, int col) {
+        int count = 0;
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = col - 1; c <= col + 1; c++) {
+                if ((r != row || c != col) && board.contains(r, c) && board.isMine(board.index(r, c))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static Board copyOf(Board board) {
+        Board copy = new Board(board.getRows(), board.getCols());
+        for (int index = 0; index < board.size(); index++) {
+            copy.setMine(index, board.isMine(index));
+            copy.setMinesAround(index, board.getMinesAround(index));
+            copy.setOpen(index, board.isOpen(index));
+            copy.setFlagged(index, board.isFlagged(index));
+            copy.setQuestioned(index, board.isQuestioned(index));
+        }
+        return copy;
+    }
+
+    private static BitSet openCells(Board board) {
+        BitSet open = new BitSet(board.size());
+        for (int index = 0; index < board.size(); index++) {
+            if (board.isOpen(index)) {
+                open.set(index);
+            }
+        }
+        return open;
+    }
+
+    private static int countOpenSafeCells(Board board) {
+        int count = 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (board.isOpen(index) && !board.isMine(index)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedLeaderboardTest {
+
+    // Each pair is equal ignoring case, but has different lower cases.
+    private static final String DOTLESS_I = "\u0131";
+    private static final String SIGMA = "\u03c3";
+    private static final String FINAL_SIGMA = "\u03c2";
+    private static final String CAPITAL_SIGMA = "\u03a3"; // The same player as SIGMA
+
+    @Test
+    void namesThatOnlyMatchIgnoringCaseAreDifferentPlayers() {
+        IndexedLeaderboard leaderboard = new IndexedLeaderboard();
+        assertEquals(Leaderboard.AddResult.ADDED, leaderboard.add(GameRecord.ofMillis(DOTLESS_I, "Easy", 5000)));
+        assertEquals(Leaderboard.AddResult.ADDED, leaderboard.add(GameRecord.ofMillis("i", "Easy", 5000)));
+        assertEquals(List.of("i 5000", DOTLESS_I + " 5000"), describe(leaderboard.getBestRecords("Easy", 10)));
+        assertEquals(2, leaderboard.size());
+
+        assertEquals(Leaderboard.AddResult.IMPROVED, leaderboard.add(GameRecord.ofMillis("i", "Easy", 4000)));
+        assertEquals(List.of("i 4000", DOTLESS_I + " 5000"), describe(leaderboard.getBestRecords("Easy", 10)));
+        assertEquals(List.of(DOTLESS_I + " 5000"), describe(leaderboard.getRecordsAfter("Easy", GameRecord.ofMillis("i", "Easy", 4000), 10)));
+        assertEquals(5000, leaderboard.getPlayerBestRecord(DOTLESS_I, "Easy").getTimeInMillis());
+    }
+
+    @Test
+    void sigmaFormsAreDifferentPlayers() {
+        IndexedLeaderboard leaderboard = new IndexedLeaderboard();
+        leaderboard.add(GameRecord.ofMillis(SIGMA, "Easy", 5000));
+        leaderboard.add(GameRecord.ofMillis(FINAL_SIGMA, "Easy", 5000));
+        leaderboard.add(GameRecord.ofMillis(CAPITAL_SIGMA, "Easy", 4000));
+        assertEquals(List.of(CAPITAL_SIGMA + " 4000", FINAL_SIGMA + " 5000"), describe(leaderboard.getBestRecords("Easy", 10)));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void namesThatDifferOnlyInCaseAreOnePlayer() {
+        IndexedLeaderboard leaderboard = new IndexedLeaderboard();
+        leaderboard.add(GameRecord.ofMillis("Alice", "Easy", 5000));
+        assertEquals(Leaderboard.AddResult.UNCHANGED, leaderboard.add(GameRecord.ofMillis("ALICE", "easy", 6000)));
+        assertEquals(Leaderboard.AddResult.IMPROVED, leaderboard.add(GameRecord.ofMillis("alice", "Easy", 4000)));
+        assertEquals(List.of("alice 4000"), describe(leaderboard.getBestRecords("Easy", 10)));
+        assertEquals(1, leaderboard.size());
+    }
+
+    private static List<String> describe(List<GameRecord> records) {
+        List<String> described = new ArrayList<>();
+        for (GameRecord record : records) {
+            described.add(record.getPlayerName() + " " + record.getTimeInMillis());
+        }
+        return described;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link LogRecordStore} keeps every record when a background compaction fails, and compacts
+ * again once the cause is gone.
+ */
+class LogRecordStoreTest {
+
+    private static final long THRESHOLD = 200; // A few records per compaction
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void retriesAFailedCompaction() throws IOException {
+        Path snapshot = directory.resolve("records.json");
+        Path blocker = directory.resolve("records.json.tmp");
+        Files.createDirectory(blocker);
+        Files.createFile(blocker.resolve("keep")); // The snapshot cannot be written while this stays
+        List<GameRecord> all = new ArrayList<>();
+
+        LogRecordStore failing = new LogRecordStore(snapshot, THRESHOLD);
+        failing.load(all::add);
+        saveRecords(failing, all, 0, 20);
+        failing.close(); // Waits for the compaction
+
+        assertFalse(Files.exists(directory.resolve("records.json.log.compacting")), "The failed compaction is folded back");
+        assertFalse(Files.exists(snapshot));
+        assertEquals(20, load(snapshot).size());
+
+        Files.delete(blocker.resolve("keep"));
+        Files.delete(blocker);
+        LogRecordStore recovered = new LogRecordStore(snapshot, THRESHOLD);
+        List<GameRecord> reloaded = new ArrayList<>();
+        recovered.load(reloaded::add);
+        saveRecords(recovered, reloaded, 20, 20);
+        recovered.close();
+
+        assertTrue(Files.exists(snapshot), "A later compaction succeeds");
+        assertEquals(40, load(snapshot).size());
+    }
+
+    private static void saveRecords(LogRecordStore store, List<GameRecord> all, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            GameRecord record = GameRecord.ofMillis("Player" + i, "Easy", 1000 * (i + 1));
+            all.add(record);
+            store.save(List.of(record), all);
+        }
+    }
+
+    private static List<GameRecord> load(Path snapshot) {
+        List<GameRecord> loaded = new ArrayList<>();
+        LogRecordStore store = new LogRecordStore(snapshot, THRESHOLD);
+        store.load(loaded::add);
+        store.close();
+        return loaded;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.minesweeper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link MappedRecordStore} ranks and pages records exactly like {@link IndexedLeaderboard},
+ * with many tied times, improved records, and rank files that are reopened, lost or left invalid,
+ * and that an interrupted import is seen as unfinished.
+ */
+class MappedRecordStoreTest {
+
+    private static final String[] PLAYED = {"Easy", "Medium"};
+    private static final int PAGE_SIZE = 101; // As many as the leaderboard window asks for
+
+    @TempDir
+    Path directory;
+
+    private MappedRecordStore store;
+
+    @AfterEach
+    void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void pagesInTheSameOrderAsTheInMemoryLeaderboard() throws IOException {
+        store = MappedRecordStore.open(directory.resolve("records"));
+        IndexedLeaderboard expected = new IndexedLeaderboard();
+        SplittableRandom random = new SplittableRandom(19);
+        for (int i = 1; i <= 3000; i++) {
+            GameRecord record = randomRecord(random);
+            assertEquals(expected.add(record), store.add(record), "Adding " + record);
+            if (i % 500 == 0) {
+                assertSameOrder(expected, store, "after " + i + " records");
+            }
+        }
+    }
+
+    @Test
+    void keepsTheOrderWhenReopened() throws IOException {
+        Path base = directory.resolve("records");
+        IndexedLeaderboard expected = fill(base, 800);
+        store = MappedRecordStore.open(base);
+        assertSameOrder(expected, store, "after reopening");
+    }
+
+    @Test
+    void rebuildsMissingOrInvalidRankFiles() throws IOException {
+        Path base = directory.resolve("records");
+        IndexedLeaderboard expected = fill(base, 800);
+        Files.delete(directory.resolve("records.easy.ranks"));
+        try (FileChannel channel = FileChannel.open(directory.resolve("records.medium.ranks"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 12); // As if a move was interrupted
+        }
+        store = MappedRecordStore.open(base);
+        assertSameOrder(expected, store, "after rebuilding the ranks");
+
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 300; i++) {
+            GameRecord record = randomRecord(random);
+            assertEquals(expected.add(record), store.add(record), "Adding " + record);
+        }
+        assertSameOrder(expected, store, "after adding to the rebuilt ranks");
+    }
+
+    @Test
+    void ranksImportedRecords() throws IOException {
+        IndexedLeaderboard expected = new IndexedLeaderboard();
+        List<GameRecord> source = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 1500; i++) {
+            GameRecord record = randomRecord(random);
+            source.add(record);
+            expected.add(record);
+        }
+        store = MappedRecordStore.open(directory.resolve("records"));
+        store.importRecords(sourceOf(source, source.size()));
+        assertSameOrder(expected, store, "after importing");
+    }
+
+    @Test
+    void mergesABatchIntoTheRanks() throws IOException {
+        Path base = directory.resolve("records");
+        IndexedLeaderboard expected = fill(base, 800);
+        store = MappedRecordStore.open(base);
+        SplittableRandom random = new SplittableRandom(17);
+        store.addBatch(() -> {
+            for (int i = 0; i < 1200; i++) {
+                GameRecord record = randomRecord(random); // Adds new players and improves ranked ones
+                assertEquals(expected.add(record), store.add(record), "Adding " + record);
+            }
+        });
+        assertSameOrder(expected, store, "after the batch");
+        store.close();
+
+        store = MappedRecordStore.open(base);
+        assertSameOrder(expected, store, "after reopening");
+    }
+
+    @Test
+    void keepsAnInterruptedImportPending() throws IOException {
+        Path base = directory.resolve("records");
+        List<GameRecord> source = new ArrayList<>();
+        IndexedLeaderboard expected = new IndexedLeaderboard();
+        SplittableRandom random = new SplittableRandom(16);
+        for (int i = 0; i < 1000; i++) {
+            GameRecord record = randomRecord(random);
+            source.add(record);
+            expected.add(record);
+        }
+
+        MappedRecordStore interrupted = MappedRecordStore.open(base);
+        assertTrue(interrupted.isImportPending(), "A new store has not imported anything yet");
+        assertThrows(IOException.class, () -> interrupted.importRecords(sourceOf(source, 400)));
+        interrupted.close();
+
+        store = MappedRecordStore.open(base);
+        assertTrue(store.isImportPending(), "The import failed, so it must run again");
+        store.importRecords(sourceOf(source, source.size()));
+        store.markImported();
+        store.close();
+
+        store = MappedRecordStore.open(base);
+        assertFalse(store.isImportPending());
+        assertSameOrder(expected, store, "after finishing the import");
+    }
+
+    @Test
+    void matchesNamesLikeTheInMemoryLeaderboard() throws IOException {
+        store = MappedRecordStore.open(directory.resolve("records"));
+        IndexedLeaderboard expected = new IndexedLeaderboard();
+        // Dotless i and i, and the sigma forms, are equal ignoring case but have different lower cases.
+        String[] names = {"\u0131", "i", "I", "\u03c3", "\u03c2", "\u03a3", "Bob", "BOB", "bob"};
+        SplittableRandom random = new SplittableRandom(15);
+        for (int i = 0; i < 400; i++) {
+            GameRecord record = GameRecord.ofMillis(names[random.nextInt(names.length)],
+                    PLAYED[random.nextInt(PLAYED.length)], 1000 * (1 + random.nextInt(5)));
+            assertEquals(expected.add(record), store.add(record), "Adding " + record);
+            assertSameOrder(expected, store, "after adding " + record);
+        }
+    }
+
+    // Reads the records in order, failing after the given number of them.
+    private static RecordStore sourceOf(List<GameRecord> records, int readable) {
+        return new RecordStore() {
+            @Override
+            public void load(Consumer<GameRecord> consumer) {
+                for (int i = 0; i < records.size(); i++) {
+                    if (i == readable) {
+                        throw new UncheckedIOException(new IOException("Read failed"));
+                    }
+                    consumer.accept(records.get(i));
+                }
+            }
+
+            @Override
+            public void save(List<GameRecord> changed, Collection<GameRecord> allRecords) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private IndexedLeaderboard fill(Path base, int count) throws IOException {
+        IndexedLeaderboard expected = new IndexedLeaderboard();
+        SplittableRandom random = new SplittableRandom(count);
+        MappedRecordStore filled = MappedRecordStore.open(base);
+        try {
+            for (int i = 0; i < count; i++) {
+                GameRecord record = randomRecord(random);
+                expected.add(record);
+                filled.add(record);
+            }
+        } finally {
+            filled.close();
+        }
+        return expected;
+    }
+
+    // Few players and few distinct times, so records are often improved and times are often tied.
+    private static GameRecord randomRecord(SplittableRandom random) {
+        String name = "Player" + random.nextInt(400);
+        if (random.nextInt(4) == 0) {
+            name = name.toUpperCase(); // The same player, as names ignore case
+        }
+        return GameRecord.ofMillis(name, PLAYED[random.nextInt(PLAYED.length)], 1000 * (1 + random.nextInt(60)));
+    }
+
+    private static void assertSameOrder(Leaderboard expected, Leaderboard actual, String when) {
+        for (String difficulty : PLAYED) {
+            List<String> all = describe(expected.getBestRecords(difficulty, Integer.MAX_VALUE));
+            assertEquals(all.subList(0, Math.min(10, all.size())), describe(actual.getBestRecords(difficulty, 10)),
+                    "Best " + difficulty + " records " + when);
+
+            List<String> paged = new ArrayList<>();
+            GameRecord after = null;
+            List<GameRecord> page;
+            do {
+                page = actual.getRecordsAfter(difficulty, after, PAGE_SIZE);
+                paged.addAll(describe(page));
+                after = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == PAGE_SIZE);
+            assertEquals(all, paged, "Paged " + difficulty + " records " + when);
+        }
+        assertEquals(expected.size(), actual.size(), "Record count " + when);
+    }
+
+    // Names ignore case, as the store keeps a player's first spelling and the in-memory board the latest.
+    private static List<String> describe(List<GameRecord> records) {
+        List<String> described = new ArrayList<>(records.size());
+        for (GameRecord record : records) {
+            described.add(record.getPlayerName().toLowerCase(Locale.ROOT) + " " + record.getDifficulty() + " " + record.getTimeInMillis());
+        }
+        return described;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinesweeperGameTest {
+
+    @Test
+    void placingAnotherBoardKeepsMarksMadeBeforeTheFirstClick() {
+        MinesweeperGame game = new MinesweeperGame(new Board(10, 10), 20, 1);
+        game.placeMinesFrom(new BoardId(10, 10, 20, 1, 0, 0, true));
+        game.handleRightClick(9, 9); // Flag
+        game.handleRightClick(8, 8); // Flag, then question mark
+        game.handleRightClick(8, 8);
+
+        game.placeMinesFrom(new BoardId(10, 10, 20, 2, 5, 5, true)); // The first click picked another board
+        Board board = game.getBoard();
+        assertTrue(board.isFlagged(board.index(9, 9)));
+        assertTrue(board.isQuestioned(board.index(8, 8)));
+        assertEquals(board.countFlags(), game.getFlagCount());
+
+        game.handleLeftClick(5, 5);
+        assertFalse(board.isMine(board.index(5, 5)));
+        assertTrue(board.isFlagged(board.index(9, 9)));
+        assertEquals(1, game.getFlagCount());
+    }
+
+    @Test
+    void placingAnotherBoardRecountsTheMines() {
+        MinesweeperGame game = new MinesweeperGame(new Board(12, 12), 30, 1);
+        game.placeMinesFrom(new BoardId(12, 12, 30, 1, 0, 0, true));
+        game.placeMinesFrom(new BoardId(12, 12, 30, 2, 6, 6, true));
+        Board board = game.getBoard();
+        int mines = 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (board.isMine(index)) {
+                mines++;
+                assertEquals(0, board.getMinesAround(index), "Mine " + index); // Mines keep a count of 0
+                continue;
+            }
+            int around = 0;
+            for (int r = board.rowOf(index) - 1; r <= board.rowOf(index) + 1; r++) {
+                for (int c = board.colOf(index) - 1; c <= board.colOf(index) + 1; c++) {
+                    if (board.contains(r, c) && board.index(r, c) != index && board.isMine(board.index(r, c))) {
+                        around++;
+                    }
+                }
+            }
+            assertEquals(around, board.getMinesAround(index), "Cell " + index);
+        }
+        assertEquals(30, mines);
+    }
+}